@@ -0,0 +1,39 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.edu.utfpr.bankapi.service.InterestCalculator;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterestCalculatorBenchmark {
+    // Campos não finais, para o JIT não tratar os argumentos como constantes
+    private double valor = 1000;
+    private long valorCentavos = 100000;
+    private float taxa = 1.5f;
+    private int prazo = 6;
+
+    @Benchmark
+    public double calcularJuros() {
+        return InterestCalculator.calcularJuros(valor, taxa, prazo);
+    }
+
+    @Benchmark
+    public long calcularJurosCentavos() {
+        return InterestCalculator.calcularJurosCentavos(valorCentavos, taxa, prazo);
+    }
+}
@@ -0,0 +1,60 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import br.edu.utfpr.bankapi.dto.TransactionView;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Serialização com Jackson da resposta das operações de transação
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionSerializationBenchmark {
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        transaction = new Transaction();
+        transaction.setId(42);
+        transaction.setType(TransactionType.TRANSFER);
+        transaction.setSourceAccount(new Account(1, "John Smith", 12345, 1000, 500, false, 0));
+        transaction.setReceiverAccount(new Account(2, "Jane Doe", 67890, 2000, 0, false, 0));
+        transaction.setAmount(100);
+    }
+
+    // Entidade com as duas contas completas (resposta anterior)
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transaction);
+    }
+
+    // Resposta atual das operações
+    @Benchmark
+    public byte[] serializeView() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(TransactionView.of(transaction));
+    }
+}
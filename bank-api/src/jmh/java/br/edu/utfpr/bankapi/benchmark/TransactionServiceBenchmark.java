@@ -0,0 +1,89 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.edu.utfpr.bankapi.Application;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.service.TransactionService;
+
+/**
+ * Operações do {@link TransactionService} sobre o H2 em memória (configuração
+ * de src/test/resources), com e sem o ledger em memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionServiceBenchmark {
+    private static final long ORIGEM = 10001;
+    private static final long DESTINO = 10002;
+
+    @Param({ "false", "true" })
+    public boolean ledger;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+
+    private final TransferDTO transfer = new TransferDTO(ORIGEM, DESTINO, 1);
+    private final DepositDTO deposit = new DepositDTO(ORIGEM, 1);
+    private final WithdrawDTO withdraw = new WithdrawDTO(ORIGEM, 1);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("bankapi.ledger.enabled=" + ledger, "logging.level.root=WARN")
+                .run();
+
+        var accountRepository = context.getBean(AccountRepository.class);
+        accountRepository.save(new Account("Origem", ORIGEM, 1_000_000_000, 0));
+        accountRepository.save(new Account("Destino", DESTINO, 0, 0));
+
+        transactionService = context.getBean(TransactionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Transaction transfer() throws NotFoundException {
+        return transactionService.transfer(transfer);
+    }
+
+    @Benchmark
+    public Transaction deposit() throws NotFoundException {
+        return transactionService.deposit(deposit);
+    }
+
+    @Benchmark
+    public Transaction withdraw() throws NotFoundException {
+        return transactionService.withdraw(withdraw);
+    }
+}
@@ -0,0 +1,91 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.edu.utfpr.bankapi.Application;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.service.TransactionService;
+
+/**
+ * Transferências concorrentes entre pares aleatórios de um conjunto de contas,
+ * nos dois sentidos (A→B e B→A), sobre o H2 em memória. Com poucas contas
+ * quase toda transferência disputa o bloqueio de uma conta com outra thread;
+ * com muitas, a disputa é rara.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class TransferContentionBenchmark {
+    private static final long PRIMEIRA_CONTA = 20001;
+
+    @Param({ "4", "1000" })
+    public int contas;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+
+        var accountRepository = context.getBean(AccountRepository.class);
+        for (int i = 0; i < contas; i++)
+            accountRepository.save(new Account("Conta " + i, PRIMEIRA_CONTA + i, 1_000_000_000, 0));
+
+        transactionService = context.getBean(TransactionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Sorteio dos pares, um gerador por thread
+     */
+    @State(Scope.Thread)
+    public static class Pares {
+        private final SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+
+        TransferDTO next(int contas) {
+            int source = random.nextInt(contas);
+            int receiver = (source + 1 + random.nextInt(contas - 1)) % contas; // Nunca a própria conta
+            return new TransferDTO(PRIMEIRA_CONTA + source, PRIMEIRA_CONTA + receiver, 1);
+        }
+    }
+
+    @Benchmark
+    public Transaction transfer(Pares pares) throws NotFoundException {
+        return transactionService.transfer(pares.next(contas));
+    }
+}
@@ -0,0 +1,78 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.edu.utfpr.bankapi.Application;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.validations.Rejection;
+import br.edu.utfpr.bankapi.validations.TransactionValidationChain;
+import br.edu.utfpr.bankapi.validations.ValidationContext;
+
+/**
+ * {@link TransactionValidationChain}, com os validadores da aplicação, nos
+ * casos aceito e rejeitado (saldo insuficiente, o último validador a
+ * recusar). As contas já estão carregadas: não há acesso ao banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    private ConfigurableApplicationContext context;
+    private TransactionValidationChain validationChain;
+
+    private ValidationContext accepted;
+    private ValidationContext rejected;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        validationChain = context.getBean(TransactionValidationChain.class);
+
+        var accounts = Map.of(
+                12345L, new Account("Origem", 12345, 1000, 500),
+                54321L, new Account("Destino", 54321, 0, 0));
+
+        accepted = ValidationContext.of(new TransferDTO(12345, 54321, 100), accounts);
+        rejected = ValidationContext.of(new TransferDTO(12345, 54321, 10_000), accounts);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Rejection> validateAccepted() {
+        return validationChain.validate(accepted);
+    }
+
+    @Benchmark
+    public Optional<Rejection> validateRejected() {
+        return validationChain.validate(rejected);
+    }
+}
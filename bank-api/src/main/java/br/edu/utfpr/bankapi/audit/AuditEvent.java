@@ -0,0 +1,40 @@
+package br.edu.utfpr.bankapi.audit;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+
+/**
+ * Evento de auditoria. Carrega apenas identificadores e valores (em
+ * centavos), nunca as entidades, para não manter referências a objetos
+ * gerenciados pelo JPA nem expor dados de cliente no log.
+ */
+public record AuditEvent(String event, long id, Long sourceAccountId, Long receiverAccountId, Long amount) {
+
+    public static AuditEvent of(Transaction transaction) {
+        return new AuditEvent(transaction.getType().name(), transaction.getId(),
+                transaction.getSourceAccount() == null ? null : transaction.getSourceAccount().getId(),
+                transaction.getReceiverAccount() == null ? null : transaction.getReceiverAccount().getId(),
+                transaction.getAmount());
+    }
+
+    public static AuditEvent of(String event, Account account) {
+        return new AuditEvent(event, account.getId(), null, null, null);
+    }
+
+    /**
+     * Representação JSON em uma linha. Os campos são números ou o nome do
+     * evento, então não há o que escapar.
+     */
+    public String toJson() {
+        var json = new StringBuilder(96)
+                .append("{\"event\":\"").append(event)
+                .append("\",\"id\":").append(id);
+        if (sourceAccountId != null)
+            json.append(",\"sourceAccountId\":").append(sourceAccountId);
+        if (receiverAccountId != null)
+            json.append(",\"receiverAccountId\":").append(receiverAccountId);
+        if (amount != null)
+            json.append(",\"amount\":").append(amount);
+        return json.append('}').toString();
+    }
+}
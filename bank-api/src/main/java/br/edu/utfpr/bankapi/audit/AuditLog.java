@@ -0,0 +1,100 @@
+package br.edu.utfpr.bankapi.audit;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Log de auditoria assíncrono, em JSON (uma linha por evento, no logger
+ * {@code audit}).
+ *
+ * Os eventos são recebidos depois do commit e apenas enfileirados em um
+ * buffer circular de tamanho fixo; uma thread própria faz a escrita. Se o
+ * buffer estiver cheio o evento é descartado (e contado) em vez de segurar a
+ * thread da requisição. Com {@code bankapi.audit.sample-rate} menor que 1
+ * apenas uma fração dos eventos é registrada.
+ */
+@Component
+public class AuditLog implements Runnable {
+    private static final Logger audit = LoggerFactory.getLogger("audit");
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    private final BlockingQueue<AuditEvent> buffer;
+    private final double sampleRate;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public AuditLog(@Value("${bankapi.audit.buffer-size:8192}") int bufferSize,
+            @Value("${bankapi.audit.sample-rate:1.0}") double sampleRate) {
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sampleRate = sampleRate;
+        this.writer = new Thread(this, "audit-log");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Recebe o evento depois do commit (ou na hora, fora de transação). Nunca
+     * bloqueia.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(AuditEvent event) {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)
+            return;
+
+        if (!buffer.offer(event))
+            dropped.increment();
+    }
+
+    /**
+     * Quantidade de eventos descartados por buffer cheio
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void run() {
+        long reportedDrops = 0;
+
+        while (running || !buffer.isEmpty()) {
+            try {
+                var event = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (event != null)
+                    audit.info(event.toJson());
+
+                long drops = dropped.sum();
+                if (drops != reportedDrops) {
+                    log.warn("{} eventos de auditoria descartados por buffer cheio", drops - reportedDrops);
+                    reportedDrops = drops;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package br.edu.utfpr.bankapi.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.edu.utfpr.bankapi.replica.ReadYourWrites;
+
+/**
+ * Cache de contas por número.
+ *
+ * Tamanho limitado com despejo W-TinyLFU (Caffeine) e TTL. O cache é ciente
+ * de transação: remoções feitas dentro de uma transação só são aplicadas
+ * depois do commit, então uma leitura concorrente não recoloca no cache um
+ * saldo que ainda vai mudar. As remoções também marcam a conta como alterada
+ * em {@link ReadYourWrites}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String ACCOUNTS = "accounts";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${bankapi.cache.accounts.maximum-size:10000}") long maximumSize,
+            @Value("${bankapi.cache.accounts.ttl:60s}") Duration ttl, ReadYourWrites readYourWrites) {
+        var cacheManager = new CaffeineCacheManager(ACCOUNTS);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()); // Estatísticas de acerto/falha (métrica cache.gets)
+
+        return new TransactionAwareCacheManagerProxy(readYourWrites.decorate(cacheManager));
+    }
+}
@@ -0,0 +1,23 @@
+package br.edu.utfpr.bankapi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Habilita {@code @Timed} nos serviços e repositórios.
+ *
+ * As métricas são expostas em /actuator/prometheus, junto com as métricas
+ * automáticas de requisições HTTP, repositórios Spring Data, pool Hikari e
+ * cache de contas.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,66 @@
+package br.edu.utfpr.bankapi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.annotation.EnableRetry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Habilita {@code @OptimisticRetry} nos serviços.
+ *
+ * O interceptor de retry fica por fora do {@code @Transactional}, então cada
+ * tentativa é uma transação nova. Os conflitos de versão são contados em
+ * bankapi.retry.conflicts e o desfecho das operações que tiveram conflito em
+ * bankapi.retry.outcomes (success, exhausted ou failed), por operação.
+ */
+@Configuration
+@EnableRetry
+public class RetryConfig {
+    private static final String CONFLICT = "bankapi.retry.conflict";
+
+    @Bean
+    public RetryListener retryMetrics(MeterRegistry meterRegistry) {
+        return new RetryListener() {
+            @Override
+            public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                    Throwable throwable) {
+                if (!(throwable instanceof OptimisticLockingFailureException))
+                    return;
+
+                context.setAttribute(CONFLICT, true);
+                Counter.builder("bankapi.retry.conflicts")
+                        .description("Tentativas que falharam por conflito de versão")
+                        .tag("operation", operation(context))
+                        .register(meterRegistry)
+                        .increment();
+            }
+
+            @Override
+            public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+                    Throwable throwable) {
+                if (!context.hasAttribute(CONFLICT))
+                    return;
+
+                var outcome = throwable == null ? "success"
+                        : throwable instanceof OptimisticLockingFailureException ? "exhausted" : "failed";
+                Counter.builder("bankapi.retry.outcomes")
+                        .description("Desfecho das operações que tiveram conflito de versão")
+                        .tag("operation", operation(context))
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .increment();
+            }
+        };
+    }
+
+    private static String operation(RetryContext context) {
+        var name = context.getAttribute(RetryContext.NAME);
+        return name == null ? "unknown" : name.toString();
+    }
+}
@@ -0,0 +1,12 @@
+package br.edu.utfpr.bankapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita os jobs agendados ({@code @Scheduled})
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,9 +1,15 @@
 package br.edu.utfpr.bankapi.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,21 +17,40 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.AccountPageDTO;
+import br.edu.utfpr.bankapi.dto.InterestDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.service.AccountService;
+import br.edu.utfpr.bankapi.service.InterestAccrualService;
+import br.edu.utfpr.bankapi.service.StatementService;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/account")
 public class AccountController {
+    private static final int MAX_PAGE_SIZE = 1000;
 
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private InterestAccrualService interestAccrualService;
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<Object> create(@RequestBody @Valid AccountDTO dto) {
         try {
@@ -48,11 +73,94 @@ public class AccountController {
         }
     }
 
+    /**
+     * Bloqueia (blocked=true) ou desbloqueia a conta para novas transações
+     */
+    @PutMapping("/{id}/blocked")
+    public ResponseEntity<Object> setBlocked(@PathVariable("id") long id, @RequestParam("blocked") boolean blocked) {
+        try {
+            var res = accountService.setBlocked(id, blocked);
+            return ResponseEntity.ok(res);
+        } catch (NotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Aplica juros em todas as contas
+     */
+    @PostMapping("/interest")
+    public ResponseEntity<Object> accrueInterest(@RequestBody @Valid InterestDTO dto) {
+        try {
+            return ResponseEntity.ok(interestAccrualService.accrue(dto.rate(), dto.term()));
+        } catch (Exception ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     @GetMapping
     public List<Account> getAll() {
         return accountService.getAll();
     }
 
+    /**
+     * Listagem paginada por keyset: contas com número maior que {@code after}.
+     * Sem {@code after}, a primeira página (inclusive contas de número
+     * negativo ou zero).
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Object> getPage(@RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "size", defaultValue = "100") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            return ResponseEntity.badRequest().body("size deve estar entre 1 e " + MAX_PAGE_SIZE);
+
+        var accounts = accountService.getPage(after == null ? Long.MIN_VALUE : after, size);
+        var nextCursor = accounts.size() == size ? accounts.get(accounts.size() - 1).getNumber() : null;
+
+        return ResponseEntity.ok(new AccountPageDTO(accounts, nextCursor));
+    }
+
+    /**
+     * Todas as contas em NDJSON (uma conta por linha), escritas à medida que
+     * são lidas do banco
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream() {
+        var writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        StreamingResponseBody body = out -> accountService.streamAll(account -> {
+            try {
+                writer.writeValue(out, account);
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Extrato da conta, do lançamento mais recente para o mais antigo
+     */
+    @GetMapping("/{number}/transactions")
+    public ResponseEntity<Object> getStatement(@PathVariable("number") long number,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            return ResponseEntity.badRequest().body("size deve estar entre 1 e " + MAX_PAGE_SIZE);
+
+        try {
+            return ResponseEntity.ok(statementService.getStatement(number, from, to, cursor, size));
+        } catch (NotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     @GetMapping("/{number}")
     public ResponseEntity<Object> getByNumber(@PathVariable("number") long number) {
         var res = accountService.getByNumber(number);
@@ -0,0 +1,55 @@
+package br.edu.utfpr.bankapi.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.utfpr.bankapi.service.BalanceSnapshotService;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+
+@RestController
+@RequestMapping("/snapshot")
+public class SnapshotController {
+    private static final String SHARD_MESSAGE = "Shard inexistente";
+
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    /**
+     * Grava um novo snapshot dos saldos do shard
+     */
+    @PostMapping
+    public ResponseEntity<Object> snapshot(@RequestParam(name = "shard", defaultValue = "0") int shard) {
+        if (shard < 0 || shard >= shardRouter.shards())
+            return ResponseEntity.badRequest().body(SHARD_MESSAGE);
+
+        try {
+            return ResponseEntity.ok(shardRouter.on(shard, balanceSnapshotService::snapshot));
+        } catch (Exception ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Confere os saldos gravados com os reconstruídos a partir das transações;
+     * com {@code repair=true} corrige as divergências
+     */
+    @PostMapping("/verify")
+    public ResponseEntity<Object> verify(@RequestParam(name = "repair", defaultValue = "false") boolean repair,
+            @RequestParam(name = "shard", defaultValue = "0") int shard) {
+        if (shard < 0 || shard >= shardRouter.shards())
+            return ResponseEntity.badRequest().body(SHARD_MESSAGE);
+
+        try {
+            return ResponseEntity.ok(shardRouter.on(shard, () -> balanceSnapshotService.verify(repair)));
+        } catch (Exception ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+}
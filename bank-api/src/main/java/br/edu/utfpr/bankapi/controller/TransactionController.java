@@ -1,53 +1,226 @@
 package br.edu.utfpr.bankapi.controller;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.edu.utfpr.bankapi.dto.BatchDTO;
+import br.edu.utfpr.bankapi.dto.BatchItemDTO;
+import br.edu.utfpr.bankapi.dto.BatchItemResultDTO;
 import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionView;
 import br.edu.utfpr.bankapi.dto.TransferDTO;
 import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.InvalidTransactionException;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.service.AsyncTransferService;
+import br.edu.utfpr.bankapi.service.DepositCoalescer;
+import br.edu.utfpr.bankapi.service.IdempotencyService;
 import br.edu.utfpr.bankapi.service.TransactionService;
+import br.edu.utfpr.bankapi.shard.OnShard;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+import br.edu.utfpr.bankapi.validations.TransactionPreValidation;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/transaction")
 public class TransactionController {
+    private static final String CONFLICT_MESSAGE = "Conta alterada por outra operação, tente novamente";
+    private static final String OVERFLOW_MESSAGE = "Valor excede o limite suportado pela conta";
 
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private DepositCoalescer depositCoalescer;
+
+    @Autowired
+    private TransactionPreValidation preValidation;
+
+    @Autowired
+    private AsyncTransferService asyncTransferService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
     @PostMapping("/transfer")
-    public ResponseEntity<Object> transfer(@RequestBody @Valid TransferDTO dto) {
-        try {
-            var res = transactionService.transfer(dto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(res);
-        } catch (Exception exception) {
-            return ResponseEntity.badRequest().body(exception.getMessage());
-        }
+    @OnShard(account = "#dto.sourceAccountNumber")
+    public ResponseEntity<Object> transfer(@RequestHeader(name = IdempotencyService.HEADER, required = false) String key,
+            @RequestBody @Valid TransferDTO dto) {
+        if (key != null)
+            return idempotencyService.execute(key, "transfer", dto, () -> transfer(dto));
+
+        return transfer(dto);
+    }
+
+    private ResponseEntity<Object> transfer(TransferDTO dto) {
+        var rejection = preValidation.transfer(dto);
+        if (rejection.isPresent())
+            return ResponseEntity.badRequest().body(rejection.get().message());
+
+        return handle(HttpStatus.CREATED, () -> TransactionView.of(transactionService.transfer(dto)));
+    }
+
+    /**
+     * Enfileira a transferência e responde 202 com o id para consulta em
+     * /transaction/async/{id}. O resultado também é enviado (POST) para
+     * {@code callbackUrl}, se informada.
+     */
+    @PostMapping("/transfer/async")
+    @OnShard(account = "#dto.sourceAccountNumber")
+    public ResponseEntity<Object> transferAsync(
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String key,
+            @RequestParam(name = "callbackUrl", required = false) String callbackUrl,
+            @RequestBody @Valid TransferDTO dto) {
+        if (key != null)
+            return idempotencyService.execute(key, "transfer-async", dto, () -> transferAsync(dto, callbackUrl));
+
+        return transferAsync(dto, callbackUrl);
+    }
+
+    private ResponseEntity<Object> transferAsync(TransferDTO dto, String callbackUrl) {
+        var rejection = preValidation.transfer(dto);
+        if (rejection.isPresent())
+            return ResponseEntity.badRequest().body(rejection.get().message());
+
+        var res = asyncTransferService.submit(dto, callbackUrl);
+        return ResponseEntity.accepted().location(URI.create("/transaction/async/" + res.id())).body(res);
+    }
+
+    @GetMapping("/async/{id}")
+    public ResponseEntity<Object> getAsync(@PathVariable("id") long id) {
+        var res = asyncTransferService.get(id);
+
+        return res.isPresent()
+                ? ResponseEntity.ok(res.get())
+                : ResponseEntity.notFound().build();
     }
 
     @PostMapping("/deposit")
-    public ResponseEntity<Object> deposit(@RequestBody @Valid DepositDTO dto) {
-        try {
-            var res = transactionService.deposit(dto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(res);
-        } catch (Exception exception) {
-            return ResponseEntity.badRequest().body(exception.getMessage());
-        }
+    @OnShard(account = "#dto.receiverAccountNumber")
+    public ResponseEntity<Object> deposit(@RequestHeader(name = IdempotencyService.HEADER, required = false) String key,
+            @RequestBody @Valid DepositDTO dto) {
+        // Com chave, o depósito precisa rodar na transação que grava a chave:
+        // o lote das contas quentes é gravado em outra thread e transação
+        if (key != null)
+            return idempotencyService.execute(key, "deposit", dto, () -> deposit(dto, false));
+
+        return deposit(dto, true);
+    }
+
+    private ResponseEntity<Object> deposit(DepositDTO dto, boolean coalesce) {
+        var rejection = preValidation.deposit(dto);
+        if (rejection.isPresent())
+            return ResponseEntity.badRequest().body(rejection.get().message());
+
+        return handle(HttpStatus.CREATED, () -> {
+            // Contas quentes recebem os depósitos em lotes
+            var res = coalesce && depositCoalescer.isHot(dto.receiverAccountNumber())
+                    ? depositCoalescer.deposit(dto)
+                    : transactionService.deposit(dto);
+            return TransactionView.of(res);
+        });
     }
 
     @PostMapping("/withdraw")
-    public ResponseEntity<Object> withdraw(@RequestBody @Valid WithdrawDTO dto) {
+    @OnShard(account = "#dto.sourceAccountNumber")
+    public ResponseEntity<Object> withdraw(@RequestHeader(name = IdempotencyService.HEADER, required = false) String key,
+            @RequestBody @Valid WithdrawDTO dto) {
+        if (key != null)
+            return idempotencyService.execute(key, "withdraw", dto, () -> withdraw(dto));
+
+        return withdraw(dto);
+    }
+
+    private ResponseEntity<Object> withdraw(WithdrawDTO dto) {
+        var rejection = preValidation.withdraw(dto);
+        if (rejection.isPresent())
+            return ResponseEntity.badRequest().body(rejection.get().message());
+
+        return handle(HttpStatus.CREATED, () -> TransactionView.of(transactionService.withdraw(dto)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Object> getById(@PathVariable("id") long id) {
+        var res = transactionService.getView(id);
+
+        return res.isPresent()
+                ? ResponseEntity.ok(res.get())
+                : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<Object> batch(@RequestBody @Valid BatchDTO dto) {
+        return handle(HttpStatus.OK, () -> batch(dto.items()));
+    }
+
+    /**
+     * Com shards, os itens são agrupados pelo shard da conta que os processa
+     * e cada grupo é um lote no seu shard; os resultados voltam com os
+     * índices do lote original
+     */
+    private List<BatchItemResultDTO> batch(List<BatchItemDTO> items) {
+        if (shardRouter.shards() == 1)
+            return transactionService.batch(items);
+
+        var groups = new TreeMap<Integer, List<Integer>>();
+        for (int i = 0; i < items.size(); i++)
+            groups.computeIfAbsent(shardRouter.shardOf(items.get(i).homeAccountNumber()), shard -> new ArrayList<>())
+                    .add(i);
+
+        var results = new BatchItemResultDTO[items.size()];
+        for (var group : groups.entrySet()) {
+            var indexes = group.getValue();
+            var res = shardRouter.on(group.getKey(),
+                    () -> transactionService.batch(indexes.stream().map(items::get).toList()));
+            for (var item : res) {
+                var index = indexes.get(item.index());
+                results[index] = new BatchItemResultDTO(index, item.success(), item.transactionId(), item.message());
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Executa a operação e responde com {@code status}, ou com o erro
+     * correspondente à exceção esperada. Outras exceções seguem para o
+     * tratamento padrão (500).
+     */
+    private ResponseEntity<Object> handle(HttpStatus status, Operation operation) {
         try {
-            var res = transactionService.withdraw(dto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(res);
-        } catch (Exception exception) {
+            return ResponseEntity.status(status).body(operation.run());
+        } catch (NotFoundException | WithoutBalanceException | InvalidTransactionException exception) {
             return ResponseEntity.badRequest().body(exception.getMessage());
+        } catch (ArithmeticException exception) {
+            // Estouro do saldo (Money): a transação foi desfeita
+            return ResponseEntity.badRequest().body(OVERFLOW_MESSAGE);
+        } catch (OptimisticLockingFailureException exception) {
+            // Tentativas esgotadas: a conta continua sendo alterada por outras operações
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(CONFLICT_MESSAGE);
         }
     }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object run() throws NotFoundException;
+    }
 }
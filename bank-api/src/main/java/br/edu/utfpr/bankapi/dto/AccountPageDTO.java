@@ -0,0 +1,12 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.List;
+
+import br.edu.utfpr.bankapi.model.Account;
+
+/**
+ * Página de contas. {@code nextCursor} é o valor a ser enviado em
+ * {@code after} para obter a próxima página, ou null na última página.
+ */
+public record AccountPageDTO(List<Account> accounts, Long nextCursor) {
+}
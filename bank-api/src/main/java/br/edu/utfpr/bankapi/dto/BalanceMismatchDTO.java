@@ -0,0 +1,8 @@
+package br.edu.utfpr.bankapi.dto;
+
+/**
+ * Conta cujo saldo gravado difere do saldo calculado a partir das transações
+ */
+public record BalanceMismatchDTO(long accountId, @MoneyJson long expected, @MoneyJson long actual,
+        boolean repaired) {
+}
@@ -0,0 +1,10 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+public record BatchDTO(@NotEmpty List<@Valid @NotNull BatchItemDTO> items) {
+}
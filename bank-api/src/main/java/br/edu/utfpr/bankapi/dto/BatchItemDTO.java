@@ -0,0 +1,53 @@
+package br.edu.utfpr.bankapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import br.edu.utfpr.bankapi.model.Money;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Item de um lote de transações. Os campos de conta usados dependem do tipo:
+ * DEPOSIT usa apenas a conta de destino, WITHDRAW apenas a de origem e
+ * TRANSFER as duas. Juros (INTEREST) só são lançados pelo job de juros.
+ */
+public record BatchItemDTO(@NotNull TransactionType type, long sourceAccountNumber, long receiverAccountNumber,
+        @MoneyJson @Positive @Max(Money.MAX_AMOUNT) long amount) {
+
+    public static BatchItemDTO of(TransferDTO dto) {
+        return new BatchItemDTO(TransactionType.TRANSFER, dto.sourceAccountNumber(), dto.receiverAccountNumber(),
+                dto.amount());
+    }
+
+    public static BatchItemDTO of(DepositDTO dto) {
+        return new BatchItemDTO(TransactionType.DEPOSIT, 0, dto.receiverAccountNumber(), dto.amount());
+    }
+
+    public static BatchItemDTO of(WithdrawDTO dto) {
+        return new BatchItemDTO(TransactionType.WITHDRAW, dto.sourceAccountNumber(), 0, dto.amount());
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "tipo de transação não permitido em lote")
+    public boolean isBatchType() {
+        return type != TransactionType.INTEREST;
+    }
+
+    public boolean hasSource() {
+        return type != TransactionType.DEPOSIT;
+    }
+
+    public boolean hasReceiver() {
+        return type != TransactionType.WITHDRAW;
+    }
+
+    /**
+     * Conta cujo shard processa o item: a de origem, ou a de destino no depósito
+     */
+    public long homeAccountNumber() {
+        return hasSource() ? sourceAccountNumber : receiverAccountNumber;
+    }
+}
@@ -0,0 +1,15 @@
+package br.edu.utfpr.bankapi.dto;
+
+/**
+ * Resultado de um item do lote, na mesma posição (index) em que foi enviado
+ */
+public record BatchItemResultDTO(int index, boolean success, Long transactionId, String message) {
+
+    public static BatchItemResultDTO success(int index, long transactionId) {
+        return new BatchItemResultDTO(index, true, transactionId, null);
+    }
+
+    public static BatchItemResultDTO rejected(int index, String message) {
+        return new BatchItemResultDTO(index, false, null, message);
+    }
+}
@@ -1,4 +1,8 @@
 package br.edu.utfpr.bankapi.dto;
 
-public record DepositDTO(long receiverAccountNumber, double amount) {
+import br.edu.utfpr.bankapi.model.Money;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+
+public record DepositDTO(long receiverAccountNumber, @MoneyJson @Positive @Max(Money.MAX_AMOUNT) long amount) {
 }
@@ -0,0 +1,8 @@
+package br.edu.utfpr.bankapi.dto;
+
+/**
+ * Resultado de uma aplicação de juros: contas percorridas, contas que
+ * receberam juros e o total creditado
+ */
+public record InterestAccrualResultDTO(long accounts, long credited, @MoneyJson long totalInterest) {
+}
@@ -0,0 +1,10 @@
+package br.edu.utfpr.bankapi.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Taxa de juros (em %, por período) e prazo (quantidade de períodos)
+ */
+public record InterestDTO(@Positive float rate, @Min(1) int term) {
+}
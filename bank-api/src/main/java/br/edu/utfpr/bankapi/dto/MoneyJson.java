@@ -0,0 +1,55 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import br.edu.utfpr.bankapi.model.Money;
+
+/**
+ * Valor monetário guardado em centavos ({@code long}) e representado no JSON
+ * como decimal. Ex.: 1025 centavos ⇄ {@code 10.25}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER })
+@JacksonAnnotationsInside
+@JsonSerialize(using = MoneyJson.Serializer.class)
+@JsonDeserialize(using = MoneyJson.Deserializer.class)
+public @interface MoneyJson {
+
+    class Serializer extends JsonSerializer<Long> {
+        @Override
+        public void serialize(Long cents, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(Money.toDecimal(cents));
+        }
+    }
+
+    class Deserializer extends JsonDeserializer<Long> {
+        @Override
+        public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            try {
+                return Money.ofDecimal(p.getDecimalValue());
+            } catch (ArithmeticException ex) {
+                return (Long) ctxt.handleWeirdNumberValue(Long.class, p.getNumberValue(),
+                        "valor monetário deve ter no máximo duas casas decimais");
+            }
+        }
+
+        @Override
+        public Long getNullValue(DeserializationContext ctxt) {
+            return 0L; // Campo ausente em um campo primitivo
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de uma rodada de snapshot: watermark anterior e novo (gravação
+ * da última transação incluída, null se não houver), e quantidade de contas
+ * gravadas (0 se não havia transações novas)
+ */
+public record SnapshotResultDTO(LocalDateTime previousWatermark, LocalDateTime watermark, long accounts) {
+}
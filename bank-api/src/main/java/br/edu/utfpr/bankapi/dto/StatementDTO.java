@@ -0,0 +1,11 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.List;
+
+/**
+ * Página do extrato, do lançamento mais recente para o mais antigo.
+ * {@code nextCursor} é o valor a ser enviado em {@code cursor} para obter a
+ * próxima página, ou null na última página.
+ */
+public record StatementDTO(long accountNumber, List<StatementEntryDTO> entries, String nextCursor) {
+}
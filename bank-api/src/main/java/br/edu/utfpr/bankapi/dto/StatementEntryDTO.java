@@ -0,0 +1,14 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Lançamento do extrato de uma conta. {@code amount} é negativo para débitos
+ * e positivo para créditos; {@code counterpartAccountNumber} é a outra conta
+ * da transação (null em depósitos, saques e juros).
+ */
+public record StatementEntryDTO(long transactionId, TransactionType type, @MoneyJson long amount,
+        LocalDateTime dateTime, Long counterpartAccountNumber) {
+}
@@ -0,0 +1,31 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Resposta de uma transação: apenas ids e números das contas, sem os dados
+ * completos das contas envolvidas
+ */
+public record TransactionView(long id, TransactionType type, @MoneyJson long amount, LocalDateTime dateTime,
+        Long sourceAccountId, Long sourceAccountNumber, Long receiverAccountId, Long receiverAccountNumber) {
+
+    /**
+     * Em uma transferência entre shards, a conta que está no outro shard
+     * aparece só pelo número
+     */
+    public static TransactionView of(Transaction transaction) {
+        Account source = transaction.getSourceAccount();
+        Account receiver = transaction.getReceiverAccount();
+
+        return new TransactionView(transaction.getId(), transaction.getType(), transaction.getAmount(),
+                transaction.getDateTime(),
+                source == null ? null : source.getId(),
+                source == null ? transaction.getRemoteAccountNumber() : Long.valueOf(source.getNumber()),
+                receiver == null ? null : receiver.getId(),
+                receiver == null ? transaction.getRemoteAccountNumber() : Long.valueOf(receiver.getNumber()));
+    }
+}
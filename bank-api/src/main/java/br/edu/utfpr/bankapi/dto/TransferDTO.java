@@ -1,4 +1,9 @@
 package br.edu.utfpr.bankapi.dto;
 
-public record TransferDTO(long sourceAccountNumber, long receiverAccountNumber, double amount) {
+import br.edu.utfpr.bankapi.model.Money;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+
+public record TransferDTO(long sourceAccountNumber, long receiverAccountNumber,
+        @MoneyJson @Positive @Max(Money.MAX_AMOUNT) long amount) {
 }
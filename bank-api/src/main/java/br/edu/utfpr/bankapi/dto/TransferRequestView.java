@@ -0,0 +1,21 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+
+import br.edu.utfpr.bankapi.model.TransferRequest;
+import br.edu.utfpr.bankapi.model.TransferRequestStatus;
+
+/**
+ * Situação de uma transferência assíncrona (resposta do POST, da consulta e
+ * corpo do callback)
+ */
+public record TransferRequestView(long id, TransferRequestStatus status, long sourceAccountNumber,
+        long receiverAccountNumber, @MoneyJson long amount, Long transactionId, String message,
+        LocalDateTime createdAt, LocalDateTime processedAt) {
+
+    public static TransferRequestView of(TransferRequest request) {
+        return new TransferRequestView(request.getId(), request.getStatus(), request.getSourceAccountNumber(),
+                request.getReceiverAccountNumber(), request.getAmount(), request.getTransactionId(),
+                request.getMessage(), request.getCreatedAt(), request.getProcessedAt());
+    }
+}
@@ -0,0 +1,12 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resultado da verificação dos saldos. {@code mismatches} traz no máximo as
+ * primeiras divergências encontradas; {@code mismatchCount} é o total.
+ */
+public record VerificationResultDTO(LocalDateTime watermark, long accounts, long mismatchCount, long repairedCount,
+        List<BalanceMismatchDTO> mismatches) {
+}
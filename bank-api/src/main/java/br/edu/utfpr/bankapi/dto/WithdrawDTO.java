@@ -1,3 +1,7 @@
 package br.edu.utfpr.bankapi.dto;
 
-public record WithdrawDTO(long sourceAccountNumber, double amount) {}
+import br.edu.utfpr.bankapi.model.Money;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+
+public record WithdrawDTO(long sourceAccountNumber, @MoneyJson @Positive @Max(Money.MAX_AMOUNT) long amount) {}
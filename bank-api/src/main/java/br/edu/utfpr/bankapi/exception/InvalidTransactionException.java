@@ -0,0 +1,11 @@
+package br.edu.utfpr.bankapi.exception;
+
+/**
+ * Transação recusada por uma regra de negócio (conta bloqueada, transferência
+ * para a própria conta...). Assim como as demais rejeições, sem stack trace.
+ */
+public class InvalidTransactionException extends RuntimeException {
+    public InvalidTransactionException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,11 +1,41 @@
 package br.edu.utfpr.bankapi.exception;
 
+/**
+ * Sem stack trace: é uma rejeição esperada, não um erro, e capturar a pilha
+ * custava mais do que a própria validação. A mensagem de conta inexistente só
+ * é montada quando alguém a lê.
+ */
 public class NotFoundException extends Exception {
+    private final long accountNumber;
+
     public NotFoundException() {
-        super("Not found");
+        this("Not found");
     }
 
     public NotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.accountNumber = 0;
+    }
+
+    private NotFoundException(long accountNumber) {
+        super(null, null, false, false);
+        this.accountNumber = accountNumber;
+    }
+
+    /**
+     * Conta inexistente, com a mensagem "Conta {número} inexistente"
+     */
+    public static NotFoundException account(long number) {
+        return new NotFoundException(number);
+    }
+
+    public static String accountMessage(long number) {
+        return "Conta " + number + " inexistente";
+    }
+
+    @Override
+    public String getMessage() {
+        var message = super.getMessage();
+        return message != null ? message : accountMessage(accountNumber);
     }
 }
@@ -1,7 +1,13 @@
 package br.edu.utfpr.bankapi.exception;
 
+/**
+ * Sem stack trace e sem estado: a mesma instância ({@link #INSTANCE}) pode ser
+ * lançada em todas as rejeições por falta de saldo.
+ */
 public class WithoutBalanceException extends RuntimeException {
+    public static final WithoutBalanceException INSTANCE = new WithoutBalanceException();
+
     public WithoutBalanceException() {
-        super("No balance in account");
+        super("No balance in account", null, false, false);
     }
 }
@@ -0,0 +1,50 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Money;
+
+/**
+ * Estado de uma conta mantido em memória por um shard do ledger.
+ *
+ * Só é acessado pela thread do shard que é dono da conta.
+ */
+class LedgerAccount {
+    final long id;
+    final String name;
+    final long number;
+    final boolean blocked;
+    final long version;
+    long balance;
+    long specialLimit;
+
+    LedgerAccount(Account account) {
+        this.id = account.getId();
+        this.name = account.getName();
+        this.number = account.getNumber();
+        this.balance = account.getBalance();
+        this.specialLimit = account.getSpecialLimit();
+        this.blocked = account.isBlocked();
+        this.version = account.getVersion();
+    }
+
+    LedgerAccount(LedgerAccount previous, Account updated) {
+        this.id = previous.id;
+        this.name = updated.getName();
+        this.number = updated.getNumber();
+        this.balance = previous.balance; // Saldo em memória é a fonte da verdade
+        this.specialLimit = updated.getSpecialLimit();
+        this.blocked = updated.isBlocked();
+        this.version = updated.getVersion();
+    }
+
+    long getBalanceWithLimit() {
+        return Money.add(balance, specialLimit);
+    }
+
+    /**
+     * Cópia desacoplada da conta para ser devolvida na resposta
+     */
+    Account toAccount() {
+        return new Account(id, name, number, balance, specialLimit, blocked, version);
+    }
+}
@@ -0,0 +1,313 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.config.CacheConfig;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Money;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.LedgerCheckpointRepository;
+import br.edu.utfpr.bankapi.repository.TransactionIdGenerator;
+import br.edu.utfpr.bankapi.validations.SpendingLimitValidation;
+import br.edu.utfpr.bankapi.validations.TransactionValidationChain;
+import br.edu.utfpr.bankapi.validations.ValidationContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Motor de ledger em memória.
+ *
+ * Os saldos ficam em memória, particionados pelo número da conta entre shards
+ * com um único escritor cada. O banco de dados é atualizado de forma
+ * assíncrona a partir do journal. Uma conta é carregada do banco apenas no
+ * primeiro acesso.
+ *
+ * Com {@code bankapi.ledger.wal.enabled=true} cada lançamento é gravado em
+ * disco no WAL ({@link WalLedgerJournal}) antes de ser confirmado; sem ele, os
+ * lançamentos ainda não gravados no banco ficam apenas em memória.
+ *
+ * Ativado com {@code bankapi.ledger.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapi.ledger.enabled", havingValue = "true")
+public class LedgerEngine {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionIdGenerator transactionIds;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LedgerCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SpendingLimitValidation spendingLimit;
+
+    @Autowired
+    private TransactionValidationChain validationChain;
+
+    @Value("${bankapi.ledger.shards:0}")
+    private int shardCount;
+
+    @Value("${bankapi.ledger.journal.capacity:100000}")
+    private int journalCapacity;
+
+    @Value("${bankapi.ledger.journal.batch-size:500}")
+    private int journalBatchSize;
+
+    @Value("${bankapi.ledger.wal.enabled:false}")
+    private boolean walEnabled;
+
+    @Value("${bankapi.ledger.wal.directory:data/wal}")
+    private String walDirectory;
+
+    @Value("${bankapi.ledger.wal.segment-records:65536}")
+    private int walSegmentRecords;
+
+    private LedgerShard[] shards;
+
+    private LedgerJournal journal;
+
+    @PostConstruct
+    void start() {
+        if (shardCount <= 0)
+            shardCount = Runtime.getRuntime().availableProcessors();
+
+        shards = new LedgerShard[shardCount];
+        for (int i = 0; i < shardCount; i++)
+            shards[i] = new LedgerShard(i);
+
+        var projection = new LedgerProjection(accountRepository, jdbcTemplate, checkpointRepository,
+                new TransactionTemplate(transactionManager), cacheManager.getCache(CacheConfig.ACCOUNTS));
+        journal = walEnabled ? walJournal(projection)
+                : new MemoryLedgerJournal(journalCapacity, journalBatchSize, projection);
+        journal.start();
+    }
+
+    private LedgerJournal walJournal(LedgerProjection projection) {
+        long checkpoint = projection.checkpoint(WalLedgerJournal.CHECKPOINT);
+
+        LedgerWal wal;
+        try {
+            wal = LedgerWal.open(Path.of(walDirectory), walSegmentRecords, checkpoint);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível abrir o WAL do ledger em " + walDirectory, ex);
+        }
+
+        FunctionCounter.builder("bankapi.ledger.wal.syncs", wal, LedgerWal::syncs)
+                .description("Gravações do WAL do ledger em disco (cada uma confirma um grupo de lançamentos)")
+                .register(meterRegistry);
+        return new WalLedgerJournal(wal, checkpoint, journalBatchSize, projection);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        for (var shard : shards)
+            shard.shutdown();
+        journal.stop();
+    }
+
+    public Transaction transfer(TransferDTO dto) throws NotFoundException {
+        var sourceShard = shardOf(dto.sourceAccountNumber());
+        var receiverShard = shardOf(dto.receiverAccountNumber());
+
+        // Garante que a conta de DESTINO existe antes de debitar a ORIGEM
+        var receiverBefore = receiverShard.call(() -> load(receiverShard, dto.receiverAccountNumber()).toAccount());
+
+        // Valida e debita a conta de ORIGEM na thread do seu shard
+        var source = sourceShard.call(() -> {
+            var account = load(sourceShard, dto.sourceAccountNumber());
+            validate(ValidationContext.of(dto, accounts(account.toAccount(), receiverBefore)));
+
+            account.balance = Money.subtract(account.balance, dto.amount());
+            spendingLimit.record(account.number, dto.amount());
+            return account.toAccount();
+        });
+
+        // Credita a conta de DESTINO. Ela pode ter sido renumerada (refresh) depois da
+        // verificação; nesse caso o crédito falha e o débito da ORIGEM é estornado.
+        Account receiver;
+        try {
+            receiver = receiverShard.call(() -> {
+                var account = load(receiverShard, dto.receiverAccountNumber());
+                account.balance = Money.add(account.balance, dto.amount());
+                return account.toAccount();
+            });
+        } catch (NotFoundException | RuntimeException ex) {
+            refund(source, dto.amount());
+            throw ex;
+        }
+
+        return record(TransactionType.TRANSFER, source, receiver, dto.amount());
+    }
+
+    public Transaction deposit(DepositDTO dto) throws NotFoundException {
+        var shard = shardOf(dto.receiverAccountNumber());
+
+        var receiver = shard.call(() -> {
+            var account = load(shard, dto.receiverAccountNumber());
+            validate(ValidationContext.of(dto, accounts(account.toAccount())));
+
+            account.balance = Money.add(account.balance, dto.amount());
+            return account.toAccount();
+        });
+
+        return record(TransactionType.DEPOSIT, null, receiver, dto.amount());
+    }
+
+    public Transaction withdraw(WithdrawDTO dto) throws NotFoundException {
+        var shard = shardOf(dto.sourceAccountNumber());
+
+        var source = shard.call(() -> {
+            var account = load(shard, dto.sourceAccountNumber());
+            validate(ValidationContext.of(dto, accounts(account.toAccount())));
+
+            account.balance = Money.subtract(account.balance, dto.amount());
+            spendingLimit.record(account.number, dto.amount());
+            return account.toAccount();
+        });
+
+        return record(TransactionType.WITHDRAW, source, null, dto.amount());
+    }
+
+    /**
+     * Reflete no ledger uma alteração cadastral (nome, número, limite) da conta,
+     * preservando o saldo mantido em memória.
+     */
+    public void refresh(long previousNumber, Account updated) throws NotFoundException {
+        var previousShard = shardOf(previousNumber);
+        var previous = previousShard.call(() -> previousShard.accounts.remove(previousNumber));
+
+        if (previous == null)
+            return; // Conta ainda não carregada: será lida do banco no primeiro acesso
+
+        var shard = shardOf(updated.getNumber());
+        shard.call(() -> shard.accounts.put(updated.getNumber(), new LedgerAccount(previous, updated)));
+    }
+
+    /**
+     * Devolve à conta um débito que não chegou ao journal. A conta continua em
+     * memória (contas não saem do ledger), mas pode ter sido renumerada: nesse
+     * caso ela é procurada pelo número atual no banco.
+     */
+    private void refund(Account source, long amount) throws NotFoundException {
+        var number = source.getNumber();
+        if (!refund(shardOf(number), number, source.getId(), amount)) {
+            var current = new TransactionTemplate(transactionManager)
+                    .execute(status -> accountRepository.findById(source.getId()))
+                    .orElseThrow(() -> NotFoundException.account(number));
+            if (!refund(shardOf(current.getNumber()), current.getNumber(), source.getId(), amount))
+                throw new IllegalStateException("Conta " + current.getNumber() + " fora do ledger no estorno");
+        }
+    }
+
+    private boolean refund(LedgerShard shard, long number, long id, long amount) throws NotFoundException {
+        return shard.call(() -> {
+            var account = shard.accounts.get(number);
+            if (account == null || account.id != id)
+                return false;
+
+            account.balance = Money.add(account.balance, amount);
+            spendingLimit.record(number, Math.negateExact(amount));
+            return true;
+        });
+    }
+
+    /**
+     * Quantidade de lançamentos ainda não gravados no banco
+     */
+    public int pendingEntries() {
+        return journal.pending();
+    }
+
+    private Transaction record(TransactionType type, Account source, Account receiver, long amount) {
+        var transaction = new Transaction();
+        transaction.setId(transactionIds.next());
+        transaction.setType(type);
+        transaction.setSourceAccount(source);
+        transaction.setReceiverAccount(receiver);
+        transaction.setAmount(amount);
+
+        journal.append(new LedgerEntry(transaction.getId(), type,
+                source == null ? null : source.getId(),
+                source == null ? null : source.getNumber(),
+                receiver == null ? null : receiver.getId(),
+                receiver == null ? null : receiver.getNumber(),
+                amount, transaction.getDateTime()));
+
+        return transaction;
+    }
+
+    /**
+     * Obtém a conta do shard, carregando do banco no primeiro acesso.
+     * Deve ser chamado apenas na thread do shard.
+     */
+    private LedgerAccount load(LedgerShard shard, long number) throws NotFoundException {
+        var account = shard.accounts.get(number);
+        if (account != null)
+            return account;
+
+        // Transação de escrita: o saldo vem do primário, nunca de uma réplica atrasada
+        var res = new TransactionTemplate(transactionManager).execute(status -> accountRepository.getByNumber(number));
+        if (res.isEmpty())
+            throw NotFoundException.account(number);
+
+        account = new LedgerAccount(res.get());
+        shard.accounts.put(number, account);
+        return account;
+    }
+
+    /**
+     * Executa a cadeia de validações com as contas do ledger, na thread do
+     * shard: o débito seguinte da mesma conta já vê o saldo e os gastos
+     * registrados por este
+     */
+    private void validate(ValidationContext context) throws NotFoundException {
+        validationChain.check(context);
+    }
+
+    private static Map<Long, Account> accounts(Account... accounts) {
+        var res = new HashMap<Long, Account>();
+        for (var account : accounts)
+            res.put(account.getNumber(), account);
+        return res;
+    }
+
+    private LedgerShard shardOf(long number) {
+        return shards[Math.floorMod(Long.hashCode(number), shards.length)];
+    }
+}
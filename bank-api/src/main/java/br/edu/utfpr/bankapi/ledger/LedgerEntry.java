@@ -0,0 +1,14 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.time.LocalDateTime;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Registro imutável do journal do ledger. {@code id} é o id da transação,
+ * já devolvido ao cliente. As contas são referenciadas pelo id (e pelo
+ * número, usado para atualizar o cache de contas).
+ */
+record LedgerEntry(long id, TransactionType type, Long sourceAccountId, Long sourceAccountNumber, Long receiverAccountId,
+        Long receiverAccountNumber, long amount, LocalDateTime dateTime) {
+}
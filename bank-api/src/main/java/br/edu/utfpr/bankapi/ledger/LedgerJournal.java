@@ -0,0 +1,29 @@
+package br.edu.utfpr.bankapi.ledger;
+
+/**
+ * Journal do ledger: recebe os lançamentos já aplicados em memória e os grava
+ * no banco de forma assíncrona.
+ *
+ * @see MemoryLedgerJournal
+ * @see WalLedgerJournal
+ */
+interface LedgerJournal {
+
+    void start();
+
+    /**
+     * Registra um lançamento. Ao retornar, o lançamento não se perde mais,
+     * nos limites de cada implementação.
+     */
+    void append(LedgerEntry entry);
+
+    /**
+     * Quantidade de lançamentos ainda não gravados no banco
+     */
+    int pending();
+
+    /**
+     * Para o journal depois de gravar no banco tudo o que estiver pendente
+     */
+    void stop() throws InterruptedException;
+}
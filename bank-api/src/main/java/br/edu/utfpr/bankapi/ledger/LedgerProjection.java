@@ -0,0 +1,112 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cache.Cache;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.model.LedgerCheckpoint;
+import br.edu.utfpr.bankapi.model.Money;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.LedgerCheckpointRepository;
+
+/**
+ * Grava no banco um lote de lançamentos do ledger: as transações e a variação
+ * de saldo de cada conta, em uma única transação por lote. As transações são
+ * inseridas com o id já devolvido ao cliente.
+ */
+class LedgerProjection {
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final LedgerCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache accountCache;
+
+    LedgerProjection(AccountRepository accountRepository, JdbcTemplate jdbcTemplate,
+            LedgerCheckpointRepository checkpointRepository, TransactionTemplate transactionTemplate,
+            Cache accountCache) {
+        this.accountRepository = accountRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.accountCache = accountCache;
+    }
+
+    /**
+     * Posição gravada do checkpoint {@code name}, ou 0 se ainda não existe.
+     * Lida em transação de escrita, para vir do primário e não de uma réplica.
+     */
+    long checkpoint(String name) {
+        return transactionTemplate.execute(status -> checkpointRepository.findById(name)
+                .map(LedgerCheckpoint::getPosition).orElse(0L));
+    }
+
+    void write(List<LedgerEntry> batch) {
+        transactionTemplate.executeWithoutResult(status -> insert(batch));
+    }
+
+    /**
+     * Grava o lote e, na mesma transação, avança o checkpoint {@code name}
+     * para {@code position}
+     */
+    void write(List<LedgerEntry> batch, String name, long position) {
+        transactionTemplate.executeWithoutResult(status -> {
+            insert(batch);
+            checkpointRepository.save(new LedgerCheckpoint(name, position));
+        });
+    }
+
+    /**
+     * Remove do cache as contas cujo saldo no banco acabou de mudar
+     */
+    void evict(List<LedgerEntry> batch) {
+        for (var entry : batch) {
+            if (entry.sourceAccountNumber() != null)
+                accountCache.evict(entry.sourceAccountNumber());
+            if (entry.receiverAccountNumber() != null)
+                accountCache.evict(entry.receiverAccountNumber());
+        }
+    }
+
+    private void insert(List<LedgerEntry> batch) {
+        jdbcTemplate.batchUpdate("""
+                insert into tb_transaction (id, type, amount, date_time, source_account_id, receiver_account_id)
+                values (?, ?, ?, ?, ?, ?)""", new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var entry = batch.get(i);
+                ps.setLong(1, entry.id());
+                ps.setString(2, entry.type().name());
+                ps.setLong(3, entry.amount());
+                ps.setTimestamp(4, Timestamp.valueOf(entry.dateTime()));
+                ps.setObject(5, entry.sourceAccountId(), Types.BIGINT);
+                ps.setObject(6, entry.receiverAccountId(), Types.BIGINT);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+
+        var deltas = new HashMap<Long, Long>();
+        for (var entry : batch) {
+            if (entry.sourceAccountId() != null)
+                deltas.merge(entry.sourceAccountId(), Math.negateExact(entry.amount()), Money::add);
+            if (entry.receiverAccountId() != null)
+                deltas.merge(entry.receiverAccountId(), entry.amount(), Money::add);
+        }
+
+        // Uma única atualização por conta no lote
+        for (Map.Entry<Long, Long> delta : deltas.entrySet())
+            accountRepository.addToBalance(delta.getKey(), delta.getValue());
+    }
+}
@@ -0,0 +1,55 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+
+/**
+ * Partição do ledger com um único escritor.
+ *
+ * Todas as operações sobre as contas do shard são executadas, em ordem, pela
+ * mesma thread. Por isso o mapa de contas não precisa de sincronização.
+ */
+class LedgerShard {
+    final Map<Long, LedgerAccount> accounts = new HashMap<>();
+
+    private final ExecutorService executor;
+
+    LedgerShard(int index) {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "ledger-shard-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Executa a tarefa na thread do shard e aguarda o resultado
+     */
+    <T> T call(Callable<T> task) throws NotFoundException {
+        try {
+            return executor.submit(task).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Operação interrompida", ex);
+        } catch (ExecutionException ex) {
+            var cause = ex.getCause();
+            if (cause instanceof NotFoundException notFound)
+                throw notFound;
+            if (cause instanceof RuntimeException runtime)
+                throw runtime;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,99 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import br.edu.utfpr.bankapi.audit.AuditEvent;
+import br.edu.utfpr.bankapi.dto.BatchItemDTO;
+import br.edu.utfpr.bankapi.dto.BatchItemResultDTO;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.InvalidTransactionException;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.service.TransactionService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import jakarta.transaction.Transactional.TxType;
+
+/**
+ * {@link TransactionService} que opera sobre o {@link LedgerEngine}.
+ *
+ * Mantém a mesma API do serviço original, mas não abre transação nem conexão
+ * com o banco: a persistência é feita pelo journal do ledger. O evento de
+ * auditoria é publicado assim que o lançamento entra no journal.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "bankapi.ledger.enabled", havingValue = "true")
+public class LedgerTransactionService extends TransactionService {
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Timed(value = TIMER, extraTags = { "operation", "transfer" }, histogram = true)
+    @Transactional(TxType.SUPPORTS)
+    public Transaction transfer(TransferDTO dto) throws NotFoundException {
+        return audited(ledgerEngine.transfer(dto));
+    }
+
+    @Override
+    @Timed(value = TIMER, extraTags = { "operation", "deposit" }, histogram = true)
+    @Transactional(TxType.SUPPORTS)
+    public Transaction deposit(DepositDTO dto) throws NotFoundException {
+        return audited(ledgerEngine.deposit(dto));
+    }
+
+    @Override
+    @Timed(value = TIMER, extraTags = { "operation", "withdraw" }, histogram = true)
+    @Transactional(TxType.SUPPORTS)
+    public Transaction withdraw(WithdrawDTO dto) throws NotFoundException {
+        return audited(ledgerEngine.withdraw(dto));
+    }
+
+    /**
+     * No ledger cada item já é aplicado em memória, então o lote é apenas
+     * processado item a item, na ordem enviada.
+     */
+    @Override
+    @Timed(value = TIMER, extraTags = { "operation", "batch" }, histogram = true)
+    @Transactional(TxType.SUPPORTS)
+    public List<BatchItemResultDTO> batch(List<BatchItemDTO> items) {
+        var results = new ArrayList<BatchItemResultDTO>(items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+            try {
+                var transaction = switch (item.type()) {
+                    case TRANSFER -> ledgerEngine.transfer(
+                            new TransferDTO(item.sourceAccountNumber(), item.receiverAccountNumber(), item.amount()));
+                    case DEPOSIT -> ledgerEngine.deposit(new DepositDTO(item.receiverAccountNumber(), item.amount()));
+                    case WITHDRAW -> ledgerEngine.withdraw(new WithdrawDTO(item.sourceAccountNumber(), item.amount()));
+                    case INTEREST -> throw new IllegalArgumentException("Juros não podem ser lançados em lote");
+                };
+                results.add(BatchItemResultDTO.success(i, audited(transaction).getId()));
+            } catch (NotFoundException | WithoutBalanceException | InvalidTransactionException ex) {
+                results.add(BatchItemResultDTO.rejected(i, ex.getMessage()));
+            }
+        }
+
+        return results;
+    }
+
+    private Transaction audited(Transaction transaction) {
+        eventPublisher.publishEvent(AuditEvent.of(transaction));
+        return transaction;
+    }
+}
@@ -0,0 +1,341 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Write-ahead log do ledger em arquivos mapeados em memória.
+ *
+ * Cada lançamento ocupa um registro de {@link #RECORD_SIZE} bytes com número
+ * de sequência (a partir de 1, sem lacunas) e CRC32. Os registros ficam em
+ * segmentos de tamanho fixo, {@code wal-<primeira sequência>.log}; quando um
+ * segmento enche, ele é gravado em disco e o próximo é criado.
+ *
+ * {@link #append} apenas copia o registro para o mapeamento; {@link #sync}
+ * espera o registro chegar ao disco. Threads que esperam ao mesmo tempo são
+ * atendidas pelo mesmo {@code force} (group commit).
+ *
+ * Ao abrir, os segmentos são lidos até o primeiro registro vazio ou inválido
+ * (escrita interrompida pela queda do processo); o restante é zerado e a
+ * escrita continua dali.
+ */
+class LedgerWal implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(LedgerWal.class);
+
+    static final int RECORD_SIZE = 72;
+
+    // Layout do registro. O CRC cobre todos os outros bytes.
+    private static final int SEQUENCE = 0;
+    private static final int TYPE = 8;
+    private static final int CRC = 12;
+    private static final int SOURCE_ID = 16;
+    private static final int SOURCE_NUMBER = 24;
+    private static final int RECEIVER_ID = 32;
+    private static final int RECEIVER_NUMBER = 40;
+    private static final int AMOUNT = 48;
+    private static final int DATE_TIME = 56; // Nanossegundos desde a época, em UTC
+    private static final int TRANSACTION_ID = 64;
+
+    private static final long NULL = Long.MIN_VALUE;
+    private static final long NANOS = 1_000_000_000L;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final Pattern SEGMENT = Pattern.compile("wal-(\\d{20})\\.log");
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Object syncLock = new Object();
+    private final AtomicLong syncs = new AtomicLong();
+
+    // Protegidos pelo monitor do WAL
+    private Segment current;
+    private long lastSequence;
+
+    private volatile long durableSequence;
+
+    private LedgerWal(Path directory, int segmentRecords) {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+    }
+
+    /**
+     * Abre (ou cria) o WAL em {@code directory} e recupera os registros
+     * gravados.
+     *
+     * @param checkpoint última sequência já projetada no banco; se os
+     *                   segmentos já foram todos removidos, a numeração
+     *                   continua depois dela
+     */
+    static LedgerWal open(Path directory, int segmentRecords, long checkpoint) throws IOException {
+        Files.createDirectories(directory);
+
+        var wal = new LedgerWal(directory, segmentRecords);
+        wal.recover(checkpoint);
+        return wal;
+    }
+
+    /**
+     * Copia o lançamento para o WAL, sem esperar o disco
+     *
+     * @return sequência do registro
+     */
+    synchronized long append(LedgerEntry entry) {
+        long sequence = lastSequence + 1;
+        if (current == null || sequence - current.firstSequence == current.records)
+            roll(sequence);
+
+        var buffer = current.buffer;
+        int offset = current.offset(sequence);
+        buffer.putLong(offset + SEQUENCE, sequence);
+        buffer.put(offset + TYPE, (byte) entry.type().ordinal());
+        buffer.putLong(offset + SOURCE_ID, orNull(entry.sourceAccountId()));
+        buffer.putLong(offset + SOURCE_NUMBER, orNull(entry.sourceAccountNumber()));
+        buffer.putLong(offset + RECEIVER_ID, orNull(entry.receiverAccountId()));
+        buffer.putLong(offset + RECEIVER_NUMBER, orNull(entry.receiverAccountNumber()));
+        buffer.putLong(offset + AMOUNT, entry.amount());
+        buffer.putLong(offset + DATE_TIME, toNanos(entry.dateTime()));
+        buffer.putLong(offset + TRANSACTION_ID, entry.id());
+        buffer.putInt(offset + CRC, crc(buffer, offset));
+
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Espera até que o registro {@code sequence} (e todos os anteriores)
+     * esteja em disco
+     */
+    void sync(long sequence) {
+        if (durableSequence >= sequence)
+            return;
+
+        synchronized (syncLock) {
+            if (durableSequence >= sequence)
+                return; // Gravado pelo force de outra thread
+
+            Segment segment;
+            long target;
+            synchronized (this) {
+                segment = current;
+                target = lastSequence;
+            }
+
+            // Segmentos anteriores já foram gravados ao serem fechados
+            segment.buffer.force();
+            syncs.incrementAndGet();
+            durableSequence = target;
+        }
+    }
+
+    /**
+     * Lê até {@code max} registros já em disco a partir da sequência
+     * {@code from}
+     */
+    List<LedgerEntry> read(long from, int max) {
+        long to = Math.min(durableSequence, from + max - 1);
+        var entries = new ArrayList<LedgerEntry>((int) Math.max(0, to - from + 1));
+
+        for (long sequence = from; sequence <= to; sequence++) {
+            var segment = segments.floorEntry(sequence).getValue();
+            entries.add(read(segment.buffer, segment.offset(sequence)));
+        }
+        return entries;
+    }
+
+    /**
+     * Remove os segmentos cujos registros são todos anteriores ou iguais a
+     * {@code sequence}. O segmento atual nunca é removido.
+     */
+    void release(long sequence) {
+        for (var segment : segments.values()) {
+            var next = segments.higherKey(segment.firstSequence);
+            if (next == null || next - 1 > sequence)
+                return;
+
+            segments.remove(segment.firstSequence);
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException ex) {
+                log.warn("Não foi possível remover o segmento {} do WAL", segment.path, ex);
+            }
+        }
+    }
+
+    /**
+     * Primeira sequência ainda presente nos segmentos
+     */
+    long firstSequence() {
+        var first = segments.firstEntry();
+        return first == null ? durableSequence + 1 : first.getKey();
+    }
+
+    long durableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * Quantidade de {@code force} executados
+     */
+    long syncs() {
+        return syncs.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (current != null)
+            current.buffer.force();
+        durableSequence = lastSequence;
+    }
+
+    private void recover(long checkpoint) throws IOException {
+        try (var files = Files.list(directory)) {
+            for (var path : files.toList()) {
+                var matcher = SEGMENT.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    long firstSequence = Long.parseLong(matcher.group(1));
+                    segments.put(firstSequence, new Segment(path, firstSequence, segmentRecords));
+                }
+            }
+        }
+
+        long expected = segments.isEmpty() ? checkpoint + 1 : segments.firstKey();
+        for (var segment : segments.values()) {
+            if (current != null && current.offset(expected) < current.size()) {
+                discard(segment); // Segmento depois de uma escrita interrompida
+                continue;
+            }
+            if (segment.firstSequence != expected)
+                throw new IllegalStateException("WAL incompleto: esperado o segmento " + expected
+                        + ", encontrado " + segment.path);
+
+            current = segment;
+            while (current.offset(expected) < current.size() && valid(current.buffer, current.offset(expected), expected))
+                expected++;
+        }
+
+        lastSequence = expected - 1;
+        if (current != null) {
+            // Zera o que sobrou de uma escrita interrompida
+            var buffer = current.buffer;
+            for (int offset = current.offset(expected); offset < current.size(); offset += 8)
+                buffer.putLong(offset, 0);
+            buffer.force();
+        }
+
+        if (lastSequence < checkpoint) {
+            // Registros já projetados e removidos: a numeração continua após o checkpoint
+            lastSequence = checkpoint;
+            current = null;
+        }
+        durableSequence = lastSequence;
+    }
+
+    private void discard(Segment segment) throws IOException {
+        segments.remove(segment.firstSequence);
+        Files.deleteIfExists(segment.path);
+    }
+
+    private void roll(long firstSequence) {
+        if (current != null)
+            current.buffer.force();
+
+        try {
+            current = new Segment(directory.resolve(String.format("wal-%020d.log", firstSequence)), firstSequence,
+                    segmentRecords);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Não foi possível criar o segmento " + firstSequence + " do WAL", ex);
+        }
+        segments.put(firstSequence, current);
+    }
+
+    private static boolean valid(ByteBuffer buffer, int offset, long expected) {
+        return buffer.getLong(offset + SEQUENCE) == expected
+                && buffer.getInt(offset + CRC) == crc(buffer, offset);
+    }
+
+    private static LedgerEntry read(ByteBuffer buffer, int offset) {
+        return new LedgerEntry(buffer.getLong(offset + TRANSACTION_ID), TYPES[buffer.get(offset + TYPE)],
+                toLong(buffer.getLong(offset + SOURCE_ID)),
+                toLong(buffer.getLong(offset + SOURCE_NUMBER)),
+                toLong(buffer.getLong(offset + RECEIVER_ID)),
+                toLong(buffer.getLong(offset + RECEIVER_NUMBER)),
+                buffer.getLong(offset + AMOUNT),
+                toDateTime(buffer.getLong(offset + DATE_TIME)));
+    }
+
+    private static int crc(ByteBuffer buffer, int offset) {
+        var crc = new CRC32();
+        crc.update(buffer.slice(offset, CRC));
+        crc.update(buffer.slice(offset + CRC + Integer.BYTES, RECORD_SIZE - CRC - Integer.BYTES));
+        return (int) crc.getValue();
+    }
+
+    private static long orNull(Long value) {
+        return value == null ? NULL : value;
+    }
+
+    private static Long toLong(long value) {
+        return value == NULL ? null : value;
+    }
+
+    private static long toNanos(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * NANOS + dateTime.getNano();
+    }
+
+    private static LocalDateTime toDateTime(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS), (int) Math.floorMod(nanos, NANOS),
+                ZoneOffset.UTC);
+    }
+
+    private static class Segment {
+        final Path path;
+        final long firstSequence;
+        final int records;
+        final MappedByteBuffer buffer;
+
+        /**
+         * Mapeia o segmento, criando o arquivo (zerado) se ainda não existe.
+         * Um segmento existente mantém o tamanho com que foi criado.
+         */
+        Segment(Path path, long firstSequence, int records) throws IOException {
+            this.path = path;
+            this.firstSequence = firstSequence;
+
+            try (var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                long size = channel.size() > 0 ? channel.size() - channel.size() % RECORD_SIZE
+                        : (long) records * RECORD_SIZE;
+                this.records = (int) (size / RECORD_SIZE);
+                // O mapeamento continua válido depois que o canal é fechado
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+        }
+
+        int offset(long sequence) {
+            return (int) (sequence - firstSequence) * RECORD_SIZE;
+        }
+
+        int size() {
+            return records * RECORD_SIZE;
+        }
+    }
+}
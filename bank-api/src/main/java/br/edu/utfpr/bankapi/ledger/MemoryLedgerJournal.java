@@ -0,0 +1,104 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.ArrayList;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Journal append-only do ledger em memória.
+ *
+ * Os lançamentos apenas entram em uma fila; uma thread de escrita drena a
+ * fila em lotes e grava no banco as transações e a variação de saldo de cada
+ * conta, em uma única transação por lote. Lançamentos ainda na fila se perdem
+ * se o processo cair (veja {@link WalLedgerJournal}).
+ */
+class MemoryLedgerJournal implements LedgerJournal, Runnable {
+    private static final Logger log = LoggerFactory.getLogger(MemoryLedgerJournal.class);
+
+    private final BlockingQueue<LedgerEntry> queue;
+    private final int batchSize;
+    private final LedgerProjection projection;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    MemoryLedgerJournal(int capacity, int batchSize, LedgerProjection projection) {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.projection = projection;
+        this.writer = new Thread(this, "ledger-journal");
+        this.writer.setDaemon(true);
+    }
+
+    @Override
+    public void start() {
+        writer.start();
+    }
+
+    /**
+     * Enfileira um lançamento. Bloqueia apenas quando o banco está tão atrasado
+     * que a fila encheu (backpressure).
+     */
+    @Override
+    public void append(LedgerEntry entry) {
+        try {
+            queue.put(entry);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Journal interrompido", ex);
+        }
+    }
+
+    @Override
+    public int pending() {
+        return queue.size();
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    @Override
+    public void run() {
+        var batch = new ArrayList<LedgerEntry>(batchSize);
+
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                // Um lote que falhou é regravado como está, sem novos lançamentos
+                if (batch.isEmpty()) {
+                    var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null)
+                        continue;
+
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+
+                projection.write(batch);
+                projection.evict(batch);
+                batch.clear();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                // Mantém o lote e tenta novamente: o journal não pode perder lançamentos
+                log.error("Falha ao gravar {} lançamentos do ledger, nova tentativa em 1s", batch.size(), ex);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Journal do ledger sobre o {@link LedgerWal}.
+ *
+ * Um lançamento só é confirmado depois de estar em disco no WAL, então nada
+ * do que foi respondido ao cliente se perde se o processo cair. Uma thread de
+ * projeção lê o WAL em lotes e grava no banco; a sequência do último registro
+ * projetado é gravada na mesma transação (tb_ledger_checkpoint).
+ *
+ * Na inicialização, tudo o que está no WAL depois do checkpoint é projetado
+ * antes de o ledger atender requisições, porque o ledger lê os saldos do
+ * banco.
+ */
+class WalLedgerJournal implements LedgerJournal, Runnable {
+    private static final Logger log = LoggerFactory.getLogger(WalLedgerJournal.class);
+
+    static final String CHECKPOINT = "ledger-wal";
+
+    private final LedgerWal wal;
+    private final int batchSize;
+    private final LedgerProjection projection;
+    private final Thread projector;
+
+    private volatile long projected;
+    private volatile boolean running = true;
+
+    WalLedgerJournal(LedgerWal wal, long checkpoint, int batchSize, LedgerProjection projection) {
+        if (wal.firstSequence() > checkpoint + 1)
+            throw new IllegalStateException("WAL do ledger sem os registros " + (checkpoint + 1) + " a "
+                    + (wal.firstSequence() - 1) + ", que ainda não foram projetados");
+
+        this.wal = wal;
+        this.projected = checkpoint;
+        this.batchSize = batchSize;
+        this.projection = projection;
+        this.projector = new Thread(this, "ledger-wal-projector");
+        this.projector.setDaemon(true);
+    }
+
+    @Override
+    public void start() {
+        // Recuperação: projeta o que ficou pendente antes da queda
+        long recovered = 0;
+        int projectedBatch;
+        while ((projectedBatch = project()) > 0)
+            recovered += projectedBatch;
+        if (recovered > 0)
+            log.info("{} lançamentos do WAL do ledger projetados na recuperação", recovered);
+
+        projector.start();
+    }
+
+    /**
+     * Grava o lançamento no WAL e espera o disco (group commit com os
+     * lançamentos concorrentes)
+     */
+    @Override
+    public void append(LedgerEntry entry) {
+        wal.sync(wal.append(entry));
+    }
+
+    @Override
+    public int pending() {
+        return (int) (wal.durableSequence() - projected);
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        running = false;
+        projector.join(TimeUnit.SECONDS.toMillis(30));
+        wal.close();
+    }
+
+    @Override
+    public void run() {
+        while (running || projected < wal.durableSequence()) {
+            try {
+                if (project() == 0)
+                    Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                // Os registros continuam no WAL: o mesmo lote é lido e gravado novamente
+                log.error("Falha ao projetar o WAL do ledger a partir de {}, nova tentativa em 1s", projected + 1, ex);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * Projeta no banco o próximo lote do WAL
+     *
+     * @return quantidade de lançamentos projetados
+     */
+    int project() {
+        var batch = wal.read(projected + 1, batchSize);
+        if (batch.isEmpty())
+            return 0;
+
+        long position = projected + batch.size();
+        projection.write(batch, CHECKPOINT, position);
+        projection.evict(batch);
+        projected = position;
+
+        wal.release(position);
+        return batch.size();
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
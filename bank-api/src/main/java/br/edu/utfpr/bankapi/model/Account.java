@@ -1,12 +1,17 @@
 package br.edu.utfpr.bankapi.model;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.MoneyJson;
+import br.edu.utfpr.bankapi.shard.ShardSequenceGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,8 +22,15 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "tb_account")
 public class Account {
+    /**
+     * Gerado em blocos de 50 da sequence sq_account (sem ida ao banco por insert)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "sq_account")
+    @GenericGenerator(name = "sq_account", type = ShardSequenceGenerator.class, parameters = {
+            @Parameter(name = "sequence_name", value = "sq_account"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo") })
     private long id;
 
     @Column(nullable = false)
@@ -28,17 +40,40 @@ public class Account {
     private long number;
     // private int checkDigit;
 
+    /**
+     * Saldo em centavos
+     */
+    @MoneyJson
+    @Column(nullable = false)
+    private long balance;
+
+    /**
+     * Limite especial em centavos
+     */
+    @MoneyJson
+    @Column(nullable = false)
+    private long specialLimit;
+
+    /**
+     * Conta bloqueada não envia nem recebe transações
+     */
     @Column(nullable = false)
-    private double balance;
+    private boolean blocked;
 
+    /**
+     * Versão para lock otimista: um update sobre uma cópia desatualizada da
+     * conta falha em vez de sobrescrever o saldo gravado por outra operação
+     */
+    @Version
     @Column(nullable = false)
-    private double specialLimit;
+    private long version;
 
-    public double getBalanceWithLimit() {
-        return balance + specialLimit;
+    @MoneyJson
+    public long getBalanceWithLimit() {
+        return Money.add(balance, specialLimit);
     }
 
-    public Account(String name, long number, double balance, double specialLimit) {
+    public Account(String name, long number, long balance, long specialLimit) {
         this.name = name;
         this.number = number;
         this.balance = balance;
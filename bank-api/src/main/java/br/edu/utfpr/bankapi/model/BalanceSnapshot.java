@@ -0,0 +1,48 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Saldo de uma conta calculado a partir das transações até
+ * {@code watermark} (recorded_at da última transação incluída).
+ *
+ * Todas as contas de uma mesma rodada de snapshot têm o mesmo watermark.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_balance_snapshot", indexes = {
+        @Index(name = "ux_balance_snapshot_watermark_account", columnList = "watermark, account_id", unique = true)
+})
+public class BalanceSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "account_id", nullable = false)
+    private long accountId;
+
+    /**
+     * Saldo em centavos
+     */
+    @Column(nullable = false)
+    private long balance;
+
+    @Column(nullable = false)
+    private LocalDateTime watermark;
+
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+}
@@ -0,0 +1,41 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resposta já enviada para uma requisição com {@code Idempotency-Key}.
+ *
+ * A linha é inserida na mesma transação da operação; {@code status} 0 indica
+ * que a operação ainda não terminou.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_idempotency_key")
+public class IdempotencyKey {
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    // Hash da operação e do corpo da requisição
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(nullable = false)
+    private int status;
+
+    @Column(length = 4000)
+    private String body;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
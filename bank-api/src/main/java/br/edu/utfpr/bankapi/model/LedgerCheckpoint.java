@@ -0,0 +1,32 @@
+package br.edu.utfpr.bankapi.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Posição até a qual um log (o WAL do ledger) já foi projetado no banco.
+ *
+ * É gravada na mesma transação que as linhas projetadas, então o banco nunca
+ * recebe o mesmo registro duas vezes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_ledger_checkpoint")
+public class LedgerCheckpoint {
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    /**
+     * Sequência do último registro projetado
+     */
+    @Column(nullable = false)
+    private long position;
+}
@@ -0,0 +1,46 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Operações sobre valores monetários representados em centavos ({@code long}).
+ *
+ * A aritmética é exata e não aloca objetos; estouro de capacidade lança
+ * {@link ArithmeticException} em vez de resultar em um valor errado.
+ */
+public final class Money {
+    public static final int SCALE = 2;
+
+    /**
+     * Maior valor aceito em uma transação, em centavos (R$ 1 bilhão). Mantém
+     * os saldos longe do limite de um {@code long}.
+     */
+    public static final long MAX_AMOUNT = 100_000_000_000L;
+
+    private Money() {
+    }
+
+    public static long add(long cents, long other) {
+        return Math.addExact(cents, other);
+    }
+
+    public static long subtract(long cents, long other) {
+        return Math.subtractExact(cents, other);
+    }
+
+    /**
+     * Converte um valor decimal (ex.: 10.25) em centavos (1025). Valores com
+     * frações de centavo são rejeitados.
+     */
+    public static long ofDecimal(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converte centavos (1025) no valor decimal correspondente (10.25)
+     */
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+}
@@ -2,45 +2,90 @@ package br.edu.utfpr.bankapi.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import br.edu.utfpr.bankapi.dto.MoneyJson;
+import br.edu.utfpr.bankapi.shard.ShardSequenceGenerator;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.Data;
+import lombok.ToString;
 
 @Data
 @Entity
-@Table(name = "tb_transaction")
+@Table(name = "tb_transaction", indexes = {
+        // Extrato por conta: filtro pela conta e keyset por (date_time, id)
+        @Index(name = "ix_transaction_source_date", columnList = "source_account_id, date_time, id"),
+        @Index(name = "ix_transaction_receiver_date", columnList = "receiver_account_id, date_time, id"),
+        // Snapshots de saldo: transações gravadas depois do watermark
+        @Index(name = "ix_transaction_recorded", columnList = "recorded_at")
+})
 public class Transaction {
+    /**
+     * Gerado em blocos de 50 da sequence sq_transaction (sem ida ao banco por insert)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "sq_transaction")
+    @GenericGenerator(name = "sq_transaction", type = ShardSequenceGenerator.class, parameters = {
+            @Parameter(name = "sequence_name", value = "sq_transaction"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo") })
     private long id;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "source_account_id")
     private Account sourceAccount;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "receiver_account_id")
     private Account receiverAccount;
 
-    private double amount;
+    /**
+     * Valor em centavos
+     */
+    @MoneyJson
+    private long amount;
 
     @Enumerated(EnumType.STRING)
     private TransactionType type;
 
     private LocalDateTime dateTime;
 
+    /**
+     * Momento em que a linha foi gravada, pelo relógio do banco (default da
+     * coluna; nunca enviado pela aplicação). Ao contrário de {@code dateTime},
+     * que é a hora da requisição, acompanha a ordem de gravação mesmo quando a
+     * transação chega ao banco com atraso (ledger, retentativas) ou vem de um
+     * nó com o relógio adiantado. Não é lido de volta: fica null na entidade.
+     */
+    @Column(name = "recorded_at", insertable = false, updatable = false,
+            columnDefinition = "timestamp(6) default localtimestamp(6) not null")
+    private LocalDateTime recordedAt;
+
+    /**
+     * Número da conta da outra ponta de uma transferência entre shards, que
+     * não existe neste banco: a conta de destino no débito, a de origem no
+     * crédito
+     */
+    private Long remoteAccountNumber;
+
     public Transaction() {
         dateTime = LocalDateTime.now();
     }
 
-    public Transaction(Account sourceAccount, Account receiverAccount, double amount, TransactionType type) {
+    public Transaction(Account sourceAccount, Account receiverAccount, long amount, TransactionType type) {
         this.sourceAccount = sourceAccount;
         this.receiverAccount = receiverAccount;
         this.amount = amount;
@@ -3,5 +3,6 @@ package br.edu.utfpr.bankapi.model;
 public enum TransactionType {
     TRANSFER,
     DEPOSIT,
-    WITHDRAW;
+    WITHDRAW,
+    INTEREST;
 }
@@ -0,0 +1,32 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Crédito de uma transferência entre shards já feito no shard de destino.
+ * Gravado na mesma transação do crédito: um item do outbox reenviado depois
+ * de uma falha não é creditado duas vezes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_transfer_inbox")
+public class TransferInbox {
+    /**
+     * Id do item no outbox do shard de origem (ids não se repetem entre shards)
+     */
+    @Id
+    private long outboxId;
+
+    private long creditTransactionId;
+
+    private LocalDateTime createdAt;
+}
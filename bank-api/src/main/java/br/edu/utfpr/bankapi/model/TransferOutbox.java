@@ -0,0 +1,71 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Crédito pendente de uma transferência entre shards. Gravado no shard de
+ * origem, na mesma transação do débito; fica PENDING até o crédito ser feito
+ * no shard de destino (COMPLETED) ou recusado e o débito estornado (REJECTED).
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "tb_transfer_outbox", indexes = {
+        // Fila: pendentes em ordem de gravação
+        @Index(name = "ix_transfer_outbox_status", columnList = "status, id")
+})
+public class TransferOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    private long sourceAccountNumber;
+
+    private long receiverAccountNumber;
+
+    /**
+     * Valor em centavos
+     */
+    private long amount;
+
+    /**
+     * Transação do débito, no shard de origem
+     */
+    private long debitTransactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TransferRequestStatus status;
+
+    /**
+     * Transação do crédito, no shard de destino
+     */
+    private Long creditTransactionId;
+
+    private String message;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime processedAt;
+
+    public TransferOutbox(Transaction debit) {
+        this.sourceAccountNumber = debit.getSourceAccount().getNumber();
+        this.receiverAccountNumber = debit.getRemoteAccountNumber();
+        this.amount = debit.getAmount();
+        this.debitTransactionId = debit.getId();
+        this.status = TransferRequestStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,69 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Transferência assíncrona enfileirada (outbox). Fica PENDING até um worker
+ * processá-la; depois guarda o resultado: a transação criada ou o motivo da
+ * rejeição.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "tb_transfer_request", indexes = {
+        // Fila: pendentes em ordem de chegada
+        @Index(name = "ix_transfer_request_status", columnList = "status, id")
+})
+public class TransferRequest {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    private long sourceAccountNumber;
+
+    private long receiverAccountNumber;
+
+    /**
+     * Valor em centavos
+     */
+    private long amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TransferRequestStatus status;
+
+    private Long transactionId;
+
+    private String message;
+
+    /**
+     * URL notificada (POST) quando a transferência for processada
+     */
+    @Column(length = 2000)
+    private String callbackUrl;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime processedAt;
+
+    public TransferRequest(long sourceAccountNumber, long receiverAccountNumber, long amount, String callbackUrl) {
+        this.sourceAccountNumber = sourceAccountNumber;
+        this.receiverAccountNumber = receiverAccountNumber;
+        this.amount = amount;
+        this.callbackUrl = callbackUrl;
+        this.status = TransferRequestStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,5 @@
+package br.edu.utfpr.bankapi.model;
+
+public enum TransferRequestStatus {
+    PENDING, COMPLETED, REJECTED
+}
@@ -0,0 +1,173 @@
+package br.edu.utfpr.bankapi.replica;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Leitura das próprias escritas com réplicas de leitura.
+ *
+ * Uma conta alterada há menos de {@code bankapi.datasource.read-your-writes}
+ * (o atraso máximo esperado das réplicas) é lida do primário dentro de
+ * {@link #pin}. As alterações são registradas pelas remoções do cache de
+ * contas, que toda escrita de conta já faz depois do commit. Sem réplicas
+ * configuradas, não tem efeito.
+ */
+@Component
+public class ReadYourWrites {
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private final long windowNanos;
+    private final com.github.benmanes.caffeine.cache.Cache<Long, Boolean> written;
+
+    // Até quando (System.nanoTime) todas as contas são lidas do primário
+    private volatile long allWrittenUntil;
+
+    public ReadYourWrites(@Value("${bankapi.datasource.read-your-writes:5s}") Duration window) {
+        this.windowNanos = window.toNanos();
+        this.written = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+        this.allWrittenUntil = System.nanoTime();
+    }
+
+    public void written(long accountNumber) {
+        if (windowNanos > 0)
+            written.put(accountNumber, Boolean.TRUE);
+    }
+
+    /**
+     * Alteração que pode ter atingido qualquer conta
+     */
+    public void writtenAll() {
+        if (windowNanos > 0)
+            allWrittenUntil = System.nanoTime() + windowNanos;
+    }
+
+    public boolean recentlyWritten(long accountNumber) {
+        return allWrittenUntil - System.nanoTime() > 0 || written.getIfPresent(accountNumber) != null;
+    }
+
+    /**
+     * Executa a leitura; durante ela, as conexões obtidas nesta thread vêm do
+     * primário se a conta foi alterada recentemente
+     */
+    public <T, E extends Exception> T onPrimary(long accountNumber, Read<T, E> read) throws E {
+        if (!recentlyWritten(accountNumber) || PRIMARY.get() != null)
+            return read.get();
+
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY.remove();
+        }
+    }
+
+    static boolean primaryRequired() {
+        return PRIMARY.get() != null;
+    }
+
+    /**
+     * Registra como alteradas as contas removidas dos caches do
+     * {@code cacheManager}
+     */
+    public CacheManager decorate(CacheManager cacheManager) {
+        return new CacheManager() {
+            @Override
+            public Cache getCache(String name) {
+                var cache = cacheManager.getCache(name);
+                return cache == null ? null : new WriteTrackingCache(cache);
+            }
+
+            @Override
+            public Collection<String> getCacheNames() {
+                return cacheManager.getCacheNames();
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Read<T, E extends Exception> {
+        T get() throws E;
+    }
+
+    private class WriteTrackingCache implements Cache {
+        private final Cache cache;
+
+        WriteTrackingCache(Cache cache) {
+            this.cache = cache;
+        }
+
+        private void track(Object key) {
+            if (key instanceof Long number)
+                written(number);
+        }
+
+        @Override
+        public String getName() {
+            return cache.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return cache.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return cache.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return cache.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            cache.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return cache.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            track(key);
+            cache.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            track(key);
+            return cache.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            writtenAll();
+            cache.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            writtenAll();
+            return cache.invalidate();
+        }
+    }
+}
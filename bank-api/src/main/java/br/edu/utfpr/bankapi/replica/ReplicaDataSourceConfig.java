@@ -0,0 +1,69 @@
+package br.edu.utfpr.bankapi.replica;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Réplicas de leitura, ativadas com {@code bankapi.datasource.replicas} (URLs
+ * JDBC separadas por vírgula).
+ *
+ * O primário continua configurado por spring.datasource.*; cada réplica usa
+ * um pool com as mesmas configurações (usuário, senha, spring.datasource.hikari.*)
+ * e a sua URL. O DataSource da aplicação passa a ser o
+ * {@link ReplicaRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bankapi.datasource.replicas")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+            @Value("${bankapi.datasource.replicas}") List<String> urls,
+            @Value("${bankapi.datasource.replica-health-timeout:1}") int healthTimeoutSeconds,
+            MeterRegistry meterRegistry) {
+        var replicas = new LinkedHashMap<String, DataSource>();
+        for (var url : urls) {
+            var config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setPoolName("replica-" + replicas.size());
+            config.setJdbcUrl(url.trim());
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1); // Réplica fora do ar não impede a inicialização
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, healthTimeoutSeconds, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
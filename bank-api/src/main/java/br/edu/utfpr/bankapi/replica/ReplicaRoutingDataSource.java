@@ -0,0 +1,125 @@
+package br.edu.utfpr.bankapi.replica;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Envia as transações somente leitura ({@code @Transactional(readOnly = true)})
+ * para as réplicas, em round-robin entre as que passaram na última
+ * verificação de saúde; todo o resto vai para o primário. Sem réplica
+ * saudável, ou dentro de um {@link ReadYourWrites#pin}, a leitura também vai
+ * para o primário.
+ *
+ * A escolha é feita ao obter a conexão, então este DataSource deve ficar
+ * atrás de um {@code LazyConnectionDataSourceProxy}: a conexão só é obtida no
+ * primeiro comando, quando a transação já está marcada como somente leitura.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final int healthTimeoutSeconds;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, int healthTimeoutSeconds,
+            MeterRegistry meterRegistry) {
+        var targets = new HashMap<Object, Object>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.healthTimeoutSeconds = healthTimeoutSeconds;
+
+        primaryConnections = connections(meterRegistry, PRIMARY);
+        replicaConnections = connections(meterRegistry, "replica");
+        Gauge.builder("bankapi.datasource.replicas.healthy", this.replicas,
+                list -> list.stream().filter(replica -> replica.healthy).count())
+                .description("Réplicas de leitura que passaram na última verificação")
+                .register(meterRegistry);
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("bankapi.datasource.connections")
+                .description("Conexões obtidas, por destino")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkHealth();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadYourWrites.primaryRequired()) {
+            for (int i = 0; i < replicas.size(); i++) {
+                var replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (replica.healthy) {
+                    replicaConnections.increment();
+                    return replica.name;
+                }
+            }
+        }
+
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+
+    /**
+     * Verifica cada réplica com uma conexão do seu pool
+     */
+    @Scheduled(fixedDelayString = "${bankapi.datasource.replica-health-interval:PT5S}",
+            initialDelayString = "${bankapi.datasource.replica-health-interval:PT5S}")
+    public void checkHealth() {
+        for (var replica : replicas) {
+            boolean healthy;
+            try (var connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(healthTimeoutSeconds);
+            } catch (SQLException ex) {
+                healthy = false;
+            }
+
+            if (healthy != replica.healthy)
+                log.info("Réplica {} {}", replica.name, healthy ? "disponível" : "fora do ar, leituras no primário");
+            replica.healthy = healthy;
+        }
+    }
+
+    boolean isHealthy(String name) {
+        return replicas.stream().anyMatch(replica -> replica.name.equals(name) && replica.healthy);
+    }
+
+    private static class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
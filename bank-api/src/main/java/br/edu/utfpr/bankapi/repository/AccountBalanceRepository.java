@@ -0,0 +1,101 @@
+package br.edu.utfpr.bankapi.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Acesso em massa aos saldos das contas via JDBC, sem carregar entidades.
+ *
+ * Usado por processos que percorrem toda a base de contas (ex.: juros), onde
+ * o custo de montar e sincronizar uma entidade por conta domina.
+ */
+@Repository
+@Timed(value = "bankapi.jdbc", histogram = true)
+public class AccountBalanceRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionIdGenerator transactionIds;
+
+    /**
+     * Lê e bloqueia as próximas {@code limit} contas com número maior que
+     * {@code afterNumber}, em ordem de número, preenchendo os arrays.
+     *
+     * @return quantidade de contas lidas
+     */
+    public int lockChunk(long afterNumber, int limit, long[] ids, long[] numbers, long[] balances) {
+        int[] count = { 0 };
+
+        jdbcTemplate.query(
+                "select id, number, balance from tb_account where number > ? order by number limit ? for update",
+                rs -> {
+                    int i = count[0]++;
+                    ids[i] = rs.getLong(1);
+                    numbers[i] = rs.getLong(2);
+                    balances[i] = rs.getLong(3);
+                }, afterNumber, limit);
+
+        return count[0];
+    }
+
+    /**
+     * Soma {@code deltas[i]} ao saldo da conta {@code ids[i]}, em um único batch
+     */
+    public void addToBalances(long[] ids, long[] deltas, int count) {
+        jdbcTemplate.batchUpdate("update tb_account set balance = balance + ?, version = version + 1 where id = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, deltas[i]);
+                        ps.setLong(2, ids[i]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+    }
+
+    /**
+     * Registra uma transação de crédito (sem conta de origem) para cada conta,
+     * em um único batch. Os ids vêm do mesmo gerador usado pelo Hibernate
+     * (blocos da sequence em memória); deve ser chamado dentro de uma transação.
+     */
+    public void insertCredits(String type, long[] receiverIds, long[] amounts, int count, LocalDateTime dateTime) {
+        var timestamp = Timestamp.valueOf(dateTime);
+
+        var ids = new long[count];
+        for (int i = 0; i < count; i++)
+            ids[i] = transactionIds.next();
+
+        jdbcTemplate.batchUpdate(
+                "insert into tb_transaction (id, receiver_account_id, amount, type, date_time) values (?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, ids[i]);
+                        ps.setLong(2, receiverIds[i]);
+                        ps.setLong(3, amounts[i]);
+                        ps.setString(4, type);
+                        ps.setTimestamp(5, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+    }
+}
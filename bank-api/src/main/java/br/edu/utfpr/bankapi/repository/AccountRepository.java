@@ -1,11 +1,67 @@
 package br.edu.utfpr.bankapi.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import br.edu.utfpr.bankapi.model.Account;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     public Optional<Account> getByNumber(long number);
+
+    public List<Account> findAllByNumberIn(Collection<Long> numbers);
+
+    /**
+     * Página de contas com número maior que o cursor (paginação por keyset)
+     */
+    public List<Account> findByNumberGreaterThanOrderByNumberAsc(long number, Limit limit);
+
+    /**
+     * Percorre todas as contas em ordem de número, buscando do banco em blocos
+     * (fetch size) e sem manter cópias para dirty checking. Deve ser consumido
+     * dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Account a order by a.number")
+    public Stream<Account> streamAll();
+
+    /**
+     * Busca a conta bloqueando a linha para escrita (SELECT ... FOR UPDATE)
+     * até o fim da transação corrente
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.number = :number")
+    public Optional<Account> lockByNumber(@Param("number") long number);
+
+    /**
+     * Busca e bloqueia várias contas em uma única consulta. As linhas são
+     * bloqueadas em ordem crescente de número, assim como em {@link #lockByNumber}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.number in :numbers order by a.number")
+    public List<Account> lockAllByNumberIn(@Param("numbers") Collection<Long> numbers);
+
+    /**
+     * Aplica uma variação de saldo diretamente no banco, sem ler a conta.
+     * Incrementa a versão, como um update feito pelo Hibernate.
+     */
+    @Modifying
+    @Query(value = "update tb_account set balance = balance + :delta, version = version + 1 where id = :id",
+            nativeQuery = true)
+    public int addToBalance(@Param("id") long id, @Param("delta") long delta);
 }
@@ -0,0 +1,172 @@
+package br.edu.utfpr.bankapi.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Snapshots de saldo e leitura agregada do log de transações via JDBC.
+ *
+ * Os saldos de uma partição de contas (ids entre {@code lo} e {@code hi}) são
+ * acumulados em arrays indexados por {@code id - lo}.
+ */
+@Repository
+@Timed(value = "bankapi.jdbc", histogram = true)
+public class BalanceSnapshotRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Watermark da rodada de snapshot mais recente, ou null se não houver
+     */
+    public LocalDateTime latestWatermark() {
+        return jdbcTemplate.queryForObject("select max(watermark) from tb_balance_snapshot", LocalDateTime.class);
+    }
+
+    /**
+     * Hora atual pelo relógio do banco, o mesmo que grava recorded_at
+     */
+    public LocalDateTime now() {
+        return jdbcTemplate.queryForObject("select localtimestamp", LocalDateTime.class);
+    }
+
+    /**
+     * Gravação (recorded_at) da última transação, ou null se não houver
+     */
+    public LocalDateTime lastRecordedAt() {
+        return jdbcTemplate.queryForObject("select max(recorded_at) from tb_transaction", LocalDateTime.class);
+    }
+
+    /**
+     * Gravação (recorded_at) da última transação gravada até
+     * {@code recordedAt}, ou null se não houver
+     */
+    public LocalDateTime lastRecordedAtUntil(LocalDateTime recordedAt) {
+        return jdbcTemplate.queryForObject("select max(recorded_at) from tb_transaction where recorded_at <= ?",
+                LocalDateTime.class, Timestamp.valueOf(recordedAt));
+    }
+
+    /**
+     * Menor e maior id de conta, ou null se não houver contas
+     */
+    public long[] accountIdRange() {
+        return jdbcTemplate.queryForObject("select min(id), max(id) from tb_account",
+                (rs, i) -> rs.getObject(1) == null ? null : new long[] { rs.getLong(1), rs.getLong(2) });
+    }
+
+    /**
+     * Marca em {@code exists} as contas da partição e copia o saldo atual para
+     * {@code balances}
+     */
+    public void loadAccounts(long lo, long hi, boolean[] exists, long[] balances) {
+        jdbcTemplate.query("select id, balance from tb_account where id between ? and ?", rs -> {
+            int i = (int) (rs.getLong(1) - lo);
+            exists[i] = true;
+            balances[i] = rs.getLong(2);
+        }, lo, hi);
+    }
+
+    /**
+     * Soma em {@code balances} os saldos do snapshot {@code watermark} das
+     * contas da partição
+     */
+    public void addSnapshot(LocalDateTime watermark, long lo, long hi, long[] balances) {
+        jdbcTemplate.query(
+                "select account_id, balance from tb_balance_snapshot where watermark = ? and account_id between ? and ?",
+                rs -> {
+                    int i = (int) (rs.getLong(1) - lo);
+                    balances[i] = Math.addExact(balances[i], rs.getLong(2));
+                }, Timestamp.valueOf(watermark), lo, hi);
+    }
+
+    /**
+     * Aplica em {@code balances} as transações gravadas (recorded_at) em
+     * ({@code after}, {@code upTo}] das contas da partição: créditos somam e
+     * débitos subtraem. Sem {@code after}, desde a primeira transação. A
+     * agregação é feita no banco.
+     */
+    public void addTransactions(LocalDateTime after, LocalDateTime upTo, long lo, long hi, long[] balances) {
+        var from = after == null ? new Timestamp(0) : Timestamp.valueOf(after);
+        var to = Timestamp.valueOf(upTo);
+
+        jdbcTemplate.query("""
+                select receiver_account_id, sum(amount) from tb_transaction
+                where recorded_at > ? and recorded_at <= ? and receiver_account_id between ? and ?
+                group by receiver_account_id
+                """, rs -> {
+            int i = (int) (rs.getLong(1) - lo);
+            balances[i] = Math.addExact(balances[i], rs.getLong(2));
+        }, from, to, lo, hi);
+
+        jdbcTemplate.query("""
+                select source_account_id, sum(amount) from tb_transaction
+                where recorded_at > ? and recorded_at <= ? and source_account_id between ? and ?
+                group by source_account_id
+                """, rs -> {
+            int i = (int) (rs.getLong(1) - lo);
+            balances[i] = Math.subtractExact(balances[i], rs.getLong(2));
+        }, from, to, lo, hi);
+    }
+
+    /**
+     * Grava o snapshot {@code watermark} das contas marcadas em {@code exists}
+     *
+     * @return quantidade de contas gravadas
+     */
+    public int insertSnapshot(LocalDateTime watermark, long lo, boolean[] exists, long[] balances, LocalDateTime takenAt) {
+        int count = 0;
+        var ids = new long[exists.length];
+        for (int i = 0; i < exists.length; i++)
+            if (exists[i])
+                ids[count++] = lo + i;
+
+        var timestamp = Timestamp.valueOf(takenAt);
+        var watermarkTimestamp = Timestamp.valueOf(watermark);
+        int size = count;
+        jdbcTemplate.batchUpdate(
+                "insert into tb_balance_snapshot (account_id, balance, watermark, taken_at) values (?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, ids[i]);
+                        ps.setLong(2, balances[(int) (ids[i] - lo)]);
+                        ps.setTimestamp(3, watermarkTimestamp);
+                        ps.setTimestamp(4, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return size;
+                    }
+                });
+
+        return count;
+    }
+
+    /**
+     * Remove as rodadas de snapshot anteriores a {@code watermark}
+     */
+    public int deleteSnapshotsBefore(LocalDateTime watermark) {
+        return jdbcTemplate.update("delete from tb_balance_snapshot where watermark < ?", Timestamp.valueOf(watermark));
+    }
+
+    /**
+     * Corrige o saldo da conta apenas se ele ainda for {@code actual}, para não
+     * sobrescrever uma movimentação feita depois da verificação
+     *
+     * @return true se o saldo foi corrigido
+     */
+    public boolean repairBalance(long accountId, long actual, long expected) {
+        return jdbcTemplate.update("update tb_account set balance = ?, version = version + 1 where id = ? and balance = ?",
+                expected, accountId, actual) == 1;
+    }
+}
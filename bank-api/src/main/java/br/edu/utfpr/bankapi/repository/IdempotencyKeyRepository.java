@@ -0,0 +1,60 @@
+package br.edu.utfpr.bankapi.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import br.edu.utfpr.bankapi.model.IdempotencyKey;
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Acesso à tabela de chaves de idempotência via JDBC: a inserção precisa ir
+ * direto ao banco para que a restrição de unicidade da chave barre uma
+ * requisição concorrente com a mesma chave.
+ */
+@Repository
+@Timed(value = "bankapi.jdbc", histogram = true)
+public class IdempotencyKeyRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserva a chave. Lança DuplicateKeyException se ela já existir.
+     */
+    public void insert(String key, String requestHash, LocalDateTime createdAt) {
+        jdbcTemplate.update("""
+                insert into tb_idempotency_key (idempotency_key, request_hash, status, created_at)
+                values (?, ?, 0, ?)
+                """, key, requestHash, Timestamp.valueOf(createdAt));
+    }
+
+    public void complete(String key, int status, String body) {
+        jdbcTemplate.update("update tb_idempotency_key set status = ?, body = ? where idempotency_key = ?",
+                status, body, key);
+    }
+
+    /**
+     * Libera uma chave reservada
+     */
+    public void delete(String key) {
+        jdbcTemplate.update("delete from tb_idempotency_key where idempotency_key = ?", key);
+    }
+
+    public Optional<IdempotencyKey> findByKey(String key) {
+        return jdbcTemplate.query("""
+                select idempotency_key, request_hash, status, body, created_at
+                from tb_idempotency_key where idempotency_key = ?
+                """, (rs, i) -> new IdempotencyKey(rs.getString(1), rs.getString(2), rs.getInt(3), rs.getString(4),
+                rs.getTimestamp(5).toLocalDateTime()), key).stream().findFirst();
+    }
+
+    public int deleteCreatedBefore(LocalDateTime createdAt) {
+        return jdbcTemplate.update("delete from tb_idempotency_key where created_at < ?",
+                Timestamp.valueOf(createdAt));
+    }
+}
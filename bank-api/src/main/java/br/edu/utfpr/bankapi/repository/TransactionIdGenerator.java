@@ -0,0 +1,43 @@
+package br.edu.utfpr.bankapi.repository;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.shard.ShardSequenceGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Ids de transação para inserts feitos fora do JPA, tirados do mesmo gerador
+ * usado pelo Hibernate (blocos da sequence em memória): os ids nunca se
+ * repetem entre os dois caminhos. O banco só é acessado quando o bloco acaba.
+ */
+@Repository
+public class TransactionIdGenerator {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ShardSequenceGenerator generator;
+
+    @PostConstruct
+    void init() {
+        generator = (ShardSequenceGenerator) entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .getEntityDescriptor(Transaction.class).getGenerator();
+    }
+
+    public long next() {
+        return (Long) generator.generate(() -> new TransactionTemplate(transactionManager).execute(
+                status -> generator.nextValue(entityManager.unwrap(SharedSessionContractImplementor.class))));
+    }
+}
@@ -1,9 +1,63 @@
 package br.edu.utfpr.bankapi.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import br.edu.utfpr.bankapi.dto.StatementEntryDTO;
+import br.edu.utfpr.bankapi.dto.TransactionView;
 import br.edu.utfpr.bankapi.model.Transaction;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    /**
+     * Resposta da transação montada direto na consulta, com as contas por
+     * join e sem carregar as entidades. Em uma transferência entre shards, a
+     * conta que está no outro shard aparece só pelo número.
+     */
+    @Query("""
+            select new br.edu.utfpr.bankapi.dto.TransactionView(t.id, t.type, t.amount, t.dateTime,
+                s.id, coalesce(s.number, t.remoteAccountNumber), r.id, coalesce(r.number, t.remoteAccountNumber))
+            from Transaction t left join t.sourceAccount s left join t.receiverAccount r
+            where t.id = :id
+            """)
+    public Optional<TransactionView> findViewById(@Param("id") long id);
+
+    /**
+     * Débitos da conta com data entre {@code from} e o cursor
+     * ({@code beforeDateTime}, {@code beforeId}), do mais recente para o mais
+     * antigo. Percorre o índice (source_account_id, date_time, id).
+     */
+    @Query("""
+            select new br.edu.utfpr.bankapi.dto.StatementEntryDTO(t.id, t.type, -t.amount, t.dateTime,
+                coalesce(r.number, t.remoteAccountNumber))
+            from Transaction t left join t.receiverAccount r
+            where t.sourceAccount.id = :accountId
+              and t.dateTime >= :from
+              and (t.dateTime < :beforeDateTime or (t.dateTime = :beforeDateTime and t.id < :beforeId))
+            order by t.dateTime desc, t.id desc
+            """)
+    public List<StatementEntryDTO> findDebits(@Param("accountId") long accountId, @Param("from") LocalDateTime from,
+            @Param("beforeDateTime") LocalDateTime beforeDateTime, @Param("beforeId") long beforeId, Limit limit);
+
+    /**
+     * Créditos da conta, nas mesmas condições de {@link #findDebits}.
+     * Percorre o índice (receiver_account_id, date_time, id).
+     */
+    @Query("""
+            select new br.edu.utfpr.bankapi.dto.StatementEntryDTO(t.id, t.type, t.amount, t.dateTime,
+                coalesce(s.number, t.remoteAccountNumber))
+            from Transaction t left join t.sourceAccount s
+            where t.receiverAccount.id = :accountId
+              and t.dateTime >= :from
+              and (t.dateTime < :beforeDateTime or (t.dateTime = :beforeDateTime and t.id < :beforeId))
+            order by t.dateTime desc, t.id desc
+            """)
+    public List<StatementEntryDTO> findCredits(@Param("accountId") long accountId, @Param("from") LocalDateTime from,
+            @Param("beforeDateTime") LocalDateTime beforeDateTime, @Param("beforeId") long beforeId, Limit limit);
 }
@@ -0,0 +1,8 @@
+package br.edu.utfpr.bankapi.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import br.edu.utfpr.bankapi.model.TransferInbox;
+
+public interface TransferInboxRepository extends JpaRepository<TransferInbox, Long> {
+}
@@ -0,0 +1,25 @@
+package br.edu.utfpr.bankapi.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import br.edu.utfpr.bankapi.model.TransferOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface TransferOutboxRepository extends JpaRepository<TransferOutbox, Long> {
+
+    /**
+     * Reserva os créditos pendentes mais antigos até o fim da transação
+     * corrente, pulando os já reservados (FOR UPDATE SKIP LOCKED)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2")) // SKIP LOCKED
+    @Query("select o from TransferOutbox o where o.status = br.edu.utfpr.bankapi.model.TransferRequestStatus.PENDING order by o.id")
+    public List<TransferOutbox> claimPending(Limit limit);
+}
@@ -0,0 +1,27 @@
+package br.edu.utfpr.bankapi.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import br.edu.utfpr.bankapi.model.TransferRequest;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface TransferRequestRepository extends JpaRepository<TransferRequest, Long> {
+
+    /**
+     * Reserva as transferências pendentes mais antigas até o fim da transação
+     * corrente. Linhas já reservadas por outro worker são puladas
+     * (FOR UPDATE SKIP LOCKED), então vários workers drenam a fila sem
+     * disputar as mesmas linhas.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2")) // SKIP LOCKED
+    @Query("select r from TransferRequest r where r.status = br.edu.utfpr.bankapi.model.TransferRequestStatus.PENDING order by r.id")
+    public List<TransferRequest> claimPending(Limit limit);
+}
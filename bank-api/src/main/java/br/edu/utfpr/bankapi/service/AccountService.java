@@ -1,16 +1,35 @@
 package br.edu.utfpr.bankapi.service;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.audit.AuditEvent;
+import br.edu.utfpr.bankapi.config.CacheConfig;
 import br.edu.utfpr.bankapi.dto.AccountDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
 import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.replica.ReadYourWrites;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.shard.OnShard;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class AccountService {
@@ -18,24 +37,93 @@ public class AccountService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Consulta de conta por número, servida pelo cache de contas. Contas
+     * inexistentes não são guardadas no cache. Com réplicas de leitura, uma
+     * conta alterada recentemente é lida do primário.
+     */
+    @OnShard(account = "#number")
+    @Cacheable(cacheNames = CacheConfig.ACCOUNTS, key = "#number", unless = "#result == null")
+    @Transactional(readOnly = true)
     public Optional<Account> getByNumber(long number) {
-        return accountRepository.getByNumber(number);
+        return readYourWrites.onPrimary(number, () -> accountRepository.getByNumber(number));
     }
 
+    /**
+     * Contas de todos os shards
+     */
     public List<Account> getAll() {
-        return accountRepository.findAll();
+        return shardRouter.onEach(accountRepository::findAll).stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * Página de contas com número maior que {@code after}, em ordem de número.
+     * O custo não depende da posição da página na tabela. Com shards, cada
+     * shard devolve a sua página e as páginas são intercaladas por número.
+     */
+    public List<Account> getPage(long after, int size) {
+        return shardRouter.onEach(() -> accountRepository.findByNumberGreaterThanOrderByNumberAsc(after, Limit.of(size)))
+                .stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingLong(Account::getNumber))
+                .limit(size)
+                .toList();
+    }
+
+    /**
+     * Entrega todas as contas, uma a uma, ao consumidor. Cada conta é
+     * desanexada do contexto de persistência depois de consumida, então a
+     * memória usada não cresce com o tamanho da tabela. Com shards, os
+     * shards são percorridos em ordem, cada um na sua transação.
+     */
+    public void streamAll(Consumer<Account> consumer) {
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        shardRouter.onEach(() -> readOnly.execute(status -> {
+            try (var accounts = accountRepository.streamAll()) {
+                accounts.forEach(account -> {
+                    consumer.accept(account);
+                    entityManager.detach(account);
+                });
+            }
+            return null;
+        }));
     }
 
+    @OnShard(account = "#dto.number")
     public Account save(AccountDTO dto) {
         var account = new Account();
         BeanUtils.copyProperties(dto, account);
 
         account.setBalance(0); // Inicializar a conta com saldo 0.
 
-        System.out.println(account);
-
         // Salva a conta
-        return accountRepository.save(account);
+        var saved = accountRepository.save(account);
+        readYourWrites.written(saved.getNumber());
+        eventPublisher.publishEvent(AuditEvent.of("ACCOUNT_CREATED", saved));
+        return saved;
     }
 
     /**
@@ -45,20 +133,90 @@ public class AccountService {
      * @return
      * @throws NotFoundException 
      */
+    @OnShard(id = "#id")
+    @OptimisticRetry("account-update")
+    @Transactional
     public Account update(long id, AccountDTO dto) throws NotFoundException {
+        // A conta não muda de shard
+        if (shardRouter.isRemote(dto.number()))
+            throw new IllegalArgumentException("O novo número pertence a outro shard");
+
         var res = accountRepository.findById(id);
 
         if (res.isEmpty())
             throw new NotFoundException();
 
         var account = res.get();
+        var previousNumber = account.getNumber();
         account.setName(dto.name());
         account.setNumber(dto.number());
         account.setSpecialLimit(dto.specialLimit());
 
-        System.out.println(account);
-
         // Salva a conta
-        return accountRepository.save(account);
+        var saved = accountRepository.save(account);
+        eventPublisher.publishEvent(AuditEvent.of("ACCOUNT_UPDATED", saved));
+
+        // Remove do cache o número anterior e o novo número da conta
+        var cache = cacheManager.getCache(CacheConfig.ACCOUNTS);
+        cache.evict(previousNumber);
+        cache.evict(saved.getNumber());
+
+        // Com o ledger ativo, o saldo em memória é preservado e apenas o cadastro é atualizado
+        refreshLedger(previousNumber, saved);
+
+        return saved;
+    }
+
+    /**
+     * Bloqueia ou desbloqueia a conta para novas transações
+     */
+    @OnShard(id = "#id")
+    @OptimisticRetry("account-blocked")
+    @Transactional
+    public Account setBlocked(long id, boolean blocked) throws NotFoundException {
+        var res = accountRepository.findById(id);
+
+        if (res.isEmpty())
+            throw new NotFoundException();
+
+        var account = res.get();
+        account.setBlocked(blocked);
+
+        var saved = accountRepository.save(account);
+        eventPublisher.publishEvent(AuditEvent.of(blocked ? "ACCOUNT_BLOCKED" : "ACCOUNT_UNBLOCKED", saved));
+        cacheManager.getCache(CacheConfig.ACCOUNTS).evict(saved.getNumber());
+
+        refreshLedger(saved.getNumber(), saved);
+
+        return saved;
+    }
+
+    /**
+     * Atualiza o cadastro da conta no ledger só depois do commit: se ele
+     * falhar, o ledger continua com o cadastro que está no banco
+     */
+    private void refreshLedger(long previousNumber, Account saved) {
+        if (ledgerEngine == null)
+            return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshLedgerNow(previousNumber, saved);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refreshLedgerNow(previousNumber, saved);
+            }
+        });
+    }
+
+    private void refreshLedgerNow(long previousNumber, Account saved) {
+        try {
+            ledgerEngine.refresh(previousNumber, saved);
+        } catch (NotFoundException ex) {
+            throw new IllegalStateException(ex);
+        }
     }
 }
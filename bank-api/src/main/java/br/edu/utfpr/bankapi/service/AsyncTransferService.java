@@ -0,0 +1,172 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.dto.BatchItemDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.TransferRequestView;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.model.TransferRequest;
+import br.edu.utfpr.bankapi.model.TransferRequestStatus;
+import br.edu.utfpr.bankapi.repository.TransferRequestRepository;
+import br.edu.utfpr.bankapi.shard.OnShard;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Transferências assíncronas.
+ *
+ * O POST apenas grava a transferência na fila (tb_transfer_request) e
+ * responde 202; a conexão é usada só pelo insert. Um conjunto de workers
+ * (bankapi.async-transfer.workers) drena a fila em lotes: cada lote é
+ * reservado com SKIP LOCKED e processado em uma única transação pelo
+ * {@link TransactionService#batch}, que carrega e bloqueia as contas de uma
+ * só vez. Picos de tráfego aumentam a fila, não o número de conexões.
+ *
+ * Com shards, a transferência fica na fila do shard da conta de origem e os
+ * workers drenam a fila de cada shard.
+ */
+@Service
+public class AsyncTransferService {
+    private static final Logger log = LoggerFactory.getLogger(AsyncTransferService.class);
+
+    @Autowired
+    private TransferRequestRepository transferRequestRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransferCallbackNotifier callbackNotifier;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${bankapi.async-transfer.workers:2}")
+    private int workers;
+
+    @Value("${bankapi.async-transfer.batch-size:100}")
+    private int batchSize;
+
+    @Value("${bankapi.async-transfer.poll-interval:100ms}")
+    private Duration pollInterval;
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    private volatile boolean running;
+
+    @OnShard(account = "#dto.sourceAccountNumber")
+    public TransferRequestView submit(TransferDTO dto, String callbackUrl) {
+        var request = transferRequestRepository.save(new TransferRequest(dto.sourceAccountNumber(),
+                dto.receiverAccountNumber(), dto.amount(), callbackUrl));
+        return TransferRequestView.of(request);
+    }
+
+    @OnShard(id = "#id")
+    public Optional<TransferRequestView> get(long id) {
+        return transferRequestRepository.findById(id).map(TransferRequestView::of);
+    }
+
+    /**
+     * Processa um lote de transferências pendentes e notifica os callbacks.
+     *
+     * @return quantidade de transferências processadas (0 se a fila está vazia)
+     */
+    public int processBatch() {
+        return shardRouter.onEach(this::processShardBatch).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private int processShardBatch() {
+        var processed = new TransactionTemplate(transactionManager).execute(status -> {
+            var requests = transferRequestRepository.claimPending(Limit.of(batchSize));
+            if (requests.isEmpty())
+                return requests;
+
+            var items = new ArrayList<BatchItemDTO>(requests.size());
+            for (var request : requests)
+                items.add(new BatchItemDTO(TransactionType.TRANSFER, request.getSourceAccountNumber(),
+                        request.getReceiverAccountNumber(), request.getAmount()));
+
+            var results = transactionService.batch(items);
+
+            var now = LocalDateTime.now();
+            for (int i = 0; i < requests.size(); i++) {
+                var request = requests.get(i);
+                var result = results.get(i);
+                request.setStatus(result.success() ? TransferRequestStatus.COMPLETED : TransferRequestStatus.REJECTED);
+                request.setTransactionId(result.transactionId());
+                request.setMessage(result.message());
+                request.setProcessedAt(now);
+            }
+            return requests;
+        });
+
+        // Callbacks só depois do commit
+        for (var request : processed)
+            if (request.getCallbackUrl() != null)
+                callbackNotifier.notify(request.getCallbackUrl(), TransferRequestView.of(request));
+
+        return processed.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            var thread = new Thread(this::work, "async-transfer-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (var thread : threads)
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                if (processBatch() == 0)
+                    Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                // O lote volta para a fila (rollback) e é tentado novamente
+                log.error("Falha ao processar transferências assíncronas, nova tentativa em 1s", ex);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package br.edu.utfpr.bankapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+
+/**
+ * Grava periodicamente um snapshot dos saldos.
+ *
+ * Desabilitado por padrão; habilite definindo {@code bankapi.snapshot.cron}.
+ */
+@Component
+public class BalanceSnapshotJob {
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotJob.class);
+
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Scheduled(cron = "${bankapi.snapshot.cron:-}")
+    public void run() {
+        for (int shard = 0; shard < shardRouter.shards(); shard++) {
+            long inicio = System.nanoTime();
+            var res = shardRouter.on(shard, balanceSnapshotService::snapshot);
+            log.info("Snapshot do shard {}: {} contas com transações até {} em {} ms", shard, res.accounts(),
+                    res.watermark(), (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+}
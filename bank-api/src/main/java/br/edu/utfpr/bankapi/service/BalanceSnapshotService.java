@@ -0,0 +1,239 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.config.CacheConfig;
+import br.edu.utfpr.bankapi.dto.BalanceMismatchDTO;
+import br.edu.utfpr.bankapi.dto.SnapshotResultDTO;
+import br.edu.utfpr.bankapi.dto.VerificationResultDTO;
+import br.edu.utfpr.bankapi.repository.BalanceSnapshotRepository;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+
+/**
+ * Saldos reconstruídos a partir do log de transações.
+ *
+ * O saldo de uma conta é o do último snapshot mais as transações gravadas
+ * depois do watermark do snapshot. O watermark é o recorded_at (relógio do
+ * banco no insert) da última transação incluída, e não um id nem a data da
+ * transação: os ids são reservados em blocos por nó
+ * ({@code ShardSequenceGenerator}), e a data é a da requisição, que pode
+ * chegar ao banco muito depois (journal do ledger, retentativas) ou vir de um
+ * nó com outro relógio. Tanto o snapshot quanto a verificação
+ * processam as contas em partições por faixa de id, em paralelo, e só leem do
+ * log as transações desde o último snapshot.
+ *
+ * Com shards, snapshot e verificação são do shard corrente: cada shard tem o
+ * seu log de transações e os seus snapshots.
+ */
+@Service
+public class BalanceSnapshotService {
+    // Quantidade máxima de divergências devolvidas na verificação
+    private static final int MAX_REPORTED_MISMATCHES = 100;
+
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${bankapi.snapshot.partitions:0}")
+    private int partitions;
+
+    @Value("${bankapi.snapshot.partition-size:1000000}")
+    private int maxPartitionSize;
+
+    @Value("${bankapi.snapshot.settle:10s}")
+    private Duration settle;
+
+    /**
+     * Grava uma nova rodada de snapshot.
+     *
+     * Só entram transações gravadas há mais de {@code bankapi.snapshot.settle},
+     * para que uma transação já gravada mas ainda não confirmada não fique de
+     * fora: o intervalo precisa cobrir a duração das transações de banco, e
+     * não o atraso entre a requisição e a gravação. Mantém apenas a rodada
+     * anterior além da nova.
+     */
+    public SnapshotResultDTO snapshot() {
+        var previous = balanceSnapshotRepository.latestWatermark();
+        var takenAt = LocalDateTime.now();
+        var watermark = balanceSnapshotRepository.lastRecordedAtUntil(balanceSnapshotRepository.now().minus(settle));
+
+        if (watermark == null || (previous != null && !watermark.isAfter(previous)))
+            return new SnapshotResultDTO(previous, previous, 0);
+
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        var accounts = forEachPartition((lo, hi) -> transactionTemplate.execute(status -> {
+            var partition = new Partition(lo, hi);
+            balanceSnapshotRepository.loadAccounts(lo, hi, partition.exists, partition.actual);
+            partition.replay(previous, watermark);
+            return (long) balanceSnapshotRepository.insertSnapshot(watermark, lo, partition.exists,
+                    partition.expected, takenAt);
+        })).stream().mapToLong(Long::longValue).sum();
+
+        if (previous != null)
+            balanceSnapshotRepository.deleteSnapshotsBefore(previous);
+
+        return new SnapshotResultDTO(previous, watermark, accounts);
+    }
+
+    /**
+     * Compara o saldo gravado de cada conta com o saldo reconstruído. Com
+     * {@code repair}, corrige as contas divergentes.
+     *
+     * Cada partição é lida em uma transação REPEATABLE READ, então o saldo
+     * gravado e as transações lidas são da mesma foto do banco. A correção só
+     * é aplicada se o saldo não mudou desde a leitura.
+     */
+    public VerificationResultDTO verify(boolean repair) {
+        var watermark = balanceSnapshotRepository.latestWatermark();
+
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        transactionTemplate.setReadOnly(true);
+
+        var results = forEachPartition((lo, hi) -> {
+            var partition = transactionTemplate.execute(status -> {
+                var res = new Partition(lo, hi);
+                balanceSnapshotRepository.loadAccounts(lo, hi, res.exists, res.actual);
+                res.replay(watermark, balanceSnapshotRepository.lastRecordedAt());
+                return res;
+            });
+            return partition.mismatches(repair);
+        });
+
+        if (results.stream().anyMatch(partition -> partition.repaired))
+            cacheManager.getCache(CacheConfig.ACCOUNTS).clear(); // O cache é por número, não por id
+
+        long accounts = 0;
+        long mismatchCount = 0;
+        long repairedCount = 0;
+        var mismatches = new ArrayList<BalanceMismatchDTO>();
+        for (var result : results) {
+            accounts += result.accounts;
+            for (var mismatch : result.mismatches) {
+                mismatchCount++;
+                if (mismatch.repaired())
+                    repairedCount++;
+                if (mismatches.size() < MAX_REPORTED_MISMATCHES)
+                    mismatches.add(mismatch);
+            }
+        }
+
+        return new VerificationResultDTO(watermark, accounts, mismatchCount, repairedCount, mismatches);
+    }
+
+    /**
+     * Divide a faixa de ids de conta em partições e executa a tarefa de cada
+     * uma em paralelo, devolvendo os resultados na ordem das partições
+     */
+    private <T> List<T> forEachPartition(PartitionTask<T> task) {
+        var range = balanceSnapshotRepository.accountIdRange();
+        if (range == null)
+            return Collections.emptyList();
+
+        long lo = range[0];
+        long hi = range[1];
+        int threads = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        long size = Math.min(maxPartitionSize, Math.max(1, (hi - lo + threads) / threads));
+
+        // As partições são lidas no shard de quem chamou
+        int shard = ShardRouter.current();
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<T>>();
+            for (long start = lo; start <= hi; start += size) {
+                long from = start;
+                long to = Math.min(hi, start + size - 1);
+                futures.add(executor.submit(() -> shardRouter.on(shard, () -> task.run(from, to))));
+            }
+
+            var results = new ArrayList<T>(futures.size());
+            for (var future : futures)
+                results.add(future.get());
+            return results;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Processamento das partições interrompido", ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException runtime ? runtime
+                    : new IllegalStateException(ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface PartitionTask<T> {
+        T run(long lo, long hi);
+    }
+
+    /**
+     * Saldos gravados ({@code actual}) e reconstruídos ({@code expected}) das
+     * contas com id entre {@code lo} e {@code hi}
+     */
+    private class Partition {
+        final long lo;
+        final boolean[] exists;
+        final long[] actual;
+        final long[] expected;
+        long accounts;
+        boolean repaired;
+        List<BalanceMismatchDTO> mismatches = List.of();
+
+        Partition(long lo, long hi) {
+            int size = (int) (hi - lo + 1);
+            this.lo = lo;
+            this.exists = new boolean[size];
+            this.actual = new long[size];
+            this.expected = new long[size];
+        }
+
+        void replay(LocalDateTime fromWatermark, LocalDateTime upTo) {
+            if (fromWatermark != null)
+                balanceSnapshotRepository.addSnapshot(fromWatermark, lo, lo + exists.length - 1, expected);
+            if (upTo != null)
+                balanceSnapshotRepository.addTransactions(fromWatermark, upTo, lo, lo + exists.length - 1, expected);
+        }
+
+        Partition mismatches(boolean repair) {
+            var found = new ArrayList<BalanceMismatchDTO>();
+
+            for (int i = 0; i < exists.length; i++) {
+                if (!exists[i])
+                    continue;
+
+                accounts++;
+                if (actual[i] == expected[i])
+                    continue;
+
+                boolean fixed = repair && balanceSnapshotRepository.repairBalance(lo + i, actual[i], expected[i]);
+                repaired |= fixed;
+                found.add(new BalanceMismatchDTO(lo + i, expected[i], actual[i], fixed));
+            }
+
+            mismatches = found;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.audit.AuditEvent;
+import br.edu.utfpr.bankapi.config.CacheConfig;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Money;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+import br.edu.utfpr.bankapi.validations.TransactionValidationChain;
+import br.edu.utfpr.bankapi.validations.ValidationContext;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Agrupa depósitos concorrentes em contas "quentes" (bankapi.deposit.hot-accounts).
+ *
+ * Cada depósito entra na fila da conta de destino e espera. A primeira
+ * chegada agenda a gravação da fila depois de uma janela de alguns
+ * milissegundos; nessa gravação a conta é bloqueada uma única vez, todas as
+ * transações são inseridas e o saldo recebe a soma dos valores em um único
+ * update. Assim a disputa pela linha da conta passa a ser por lote, e não por
+ * depósito.
+ *
+ * Cada depósito passa pelas mesmas validações de um depósito comum; se o
+ * lote falhar, todos os depósitos dele falham com o mesmo erro.
+ */
+@Component
+public class DepositCoalescer {
+    private final Set<Long> hotAccounts;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionValidationChain validationChain;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache accountCache;
+    private final DistributionSummary batchSizes;
+    private final ScheduledExecutorService executor;
+
+    private final ConcurrentHashMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    public DepositCoalescer(@Value("${bankapi.deposit.hot-accounts:}") Set<Long> hotAccounts,
+            @Value("${bankapi.ledger.enabled:false}") boolean ledgerEnabled,
+            @Value("${bankapi.deposit.coalesce.window:2ms}") Duration window,
+            @Value("${bankapi.deposit.coalesce.max-batch:500}") int maxBatch,
+            @Value("${bankapi.deposit.coalesce.threads:2}") int threads,
+            AccountRepository accountRepository, TransactionRepository transactionRepository,
+            TransactionValidationChain validationChain,
+            PlatformTransactionManager transactionManager, ShardRouter shardRouter,
+            ApplicationEventPublisher eventPublisher, CacheManager cacheManager, MeterRegistry meterRegistry) {
+        // O ledger já agrupa as gravações no journal
+        this.hotAccounts = ledgerEnabled ? Set.of() : Set.copyOf(hotAccounts);
+        this.windowNanos = window.toNanos();
+        this.maxBatch = maxBatch;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.validationChain = validationChain;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+        this.accountCache = cacheManager.getCache(CacheConfig.ACCOUNTS);
+        this.batchSizes = DistributionSummary.builder("bankapi.deposit.coalesced")
+                .description("Depósitos gravados por lote em contas quentes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "deposit-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isHot(long accountNumber) {
+        return hotAccounts.contains(accountNumber);
+    }
+
+    /**
+     * Enfileira o depósito e espera a gravação do lote em que ele entrou
+     */
+    @Timed(value = TransactionService.TIMER, extraTags = { "operation", "deposit" }, histogram = true)
+    public Transaction deposit(DepositDTO dto) throws NotFoundException {
+        var pending = new Pending(dto, new CompletableFuture<>());
+
+        var lane = lanes.computeIfAbsent(dto.receiverAccountNumber(), Lane::new);
+        lane.queue.add(pending);
+        if (lane.scheduled.compareAndSet(false, true))
+            executor.schedule(() -> flush(lane), windowNanos, TimeUnit.NANOSECONDS);
+
+        try {
+            return pending.result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Depósito interrompido", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof NotFoundException notFound)
+                throw notFound;
+            if (ex.getCause() instanceof RuntimeException runtime)
+                throw runtime;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    private void flush(Lane lane) {
+        var batch = new ArrayList<Pending>(Math.min(maxBatch, lane.queue.size()));
+        Pending pending;
+        while (batch.size() < maxBatch && (pending = lane.queue.poll()) != null)
+            batch.add(pending);
+
+        try {
+            if (!batch.isEmpty()) {
+                // O lote é gravado no shard da conta
+                var transactions = shardRouter.on(shardRouter.shardOf(lane.accountNumber),
+                        () -> transactionTemplate.execute(status -> write(lane.accountNumber, batch)));
+                batchSizes.record(batch.size());
+                for (int i = 0; i < batch.size(); i++)
+                    if (transactions[i] != null)
+                        batch.get(i).result.complete(transactions[i]);
+            }
+        } catch (Exception ex) {
+            for (var failed : batch)
+                failed.result.completeExceptionally(ex);
+        } finally {
+            lane.scheduled.set(false);
+            // Depósitos que chegaram durante a gravação formam o próximo lote
+            if (!lane.queue.isEmpty() && lane.scheduled.compareAndSet(false, true))
+                executor.execute(() -> flush(lane));
+        }
+    }
+
+    /**
+     * Grava o lote. Depósitos recusados pelas validações são concluídos com a
+     * exceção correspondente e ficam null no resultado.
+     */
+    private Transaction[] write(long accountNumber, List<Pending> batch) {
+        var accounts = new HashMap<Long, Account>();
+        accountRepository.lockByNumber(accountNumber).ifPresent(account -> accounts.put(accountNumber, account));
+        var receiver = accounts.get(accountNumber);
+
+        var dateTime = LocalDateTime.now();
+        var transactions = new Transaction[batch.size()];
+        var accepted = new ArrayList<Transaction>(batch.size());
+        long total = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            var pending = batch.get(i);
+
+            var rejection = validationChain.validate(ValidationContext.of(pending.dto, accounts));
+            if (rejection.isPresent()) {
+                pending.result.completeExceptionally(rejection.get().toException());
+                continue;
+            }
+
+            var transaction = new Transaction();
+            transaction.setType(TransactionType.DEPOSIT);
+            transaction.setAmount(pending.dto.amount());
+            transaction.setDateTime(dateTime);
+            transaction.setReceiverAccount(receiver);
+            transactions[i] = transaction;
+            accepted.add(transaction);
+            total = Money.add(total, pending.dto.amount());
+        }
+
+        if (accepted.isEmpty())
+            return transactions;
+
+        // Um único update do saldo para o lote inteiro
+        receiver.setBalance(Money.add(receiver.getBalance(), total));
+
+        transactionRepository.saveAll(accepted);
+        for (var transaction : accepted)
+            eventPublisher.publishEvent(AuditEvent.of(transaction));
+
+        accountCache.evict(accountNumber); // Aplicado após o commit
+        return transactions;
+    }
+
+    private record Pending(DepositDTO dto, CompletableFuture<Transaction> result) {
+    }
+
+    private static class Lane {
+        final long accountNumber;
+        final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Lane(long accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.edu.utfpr.bankapi.model.IdempotencyKey;
+import br.edu.utfpr.bankapi.repository.IdempotencyKeyRepository;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Deduplicação de requisições pelo cabeçalho {@code Idempotency-Key}.
+ *
+ * A chave é reservada na tabela tb_idempotency_key dentro da mesma transação
+ * da operação, junto com a resposta enviada; uma requisição concorrente com
+ * a mesma chave esbarra na chave primária e devolve a resposta da primeira.
+ * As respostas recentes ficam também em memória (tamanho limitado e TTL),
+ * então uma repetição normalmente não chega ao banco.
+ *
+ * Com o ledger ativo a operação não roda em transação do banco: a chave é
+ * reservada e confirmada antes da operação, e a resposta é gravada depois,
+ * em outra transação. Se essa gravação falhar, a chave continua reservada e
+ * as repetições recebem 409 em vez de executar a operação de novo.
+ *
+ * Apenas respostas de sucesso são guardadas: uma requisição que falhou pode
+ * ser repetida com a mesma chave.
+ *
+ * Com shards, a chave é gravada no shard em que a operação roda (o da conta
+ * de origem, ou de destino no depósito).
+ */
+@Service
+public class IdempotencyService {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final boolean ledgerEnabled;
+    private final Cache<String, IdempotencyKey> responses;
+
+    private final Counter executed;
+    private final Counter replayedFromMemory;
+    private final Counter replayedFromDatabase;
+    private final Counter rejected;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+            PlatformTransactionManager transactionManager, ShardRouter shardRouter, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${bankapi.idempotency.maximum-size:100000}") long maximumSize,
+            @Value("${bankapi.idempotency.ttl:24h}") Duration ttl,
+            @Value("${bankapi.ledger.enabled:false}") boolean ledgerEnabled) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.ledgerEnabled = ledgerEnabled;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+        executed = requests(meterRegistry, "executed", "none");
+        replayedFromMemory = requests(meterRegistry, "replayed", "memory");
+        replayedFromDatabase = requests(meterRegistry, "replayed", "database");
+        rejected = requests(meterRegistry, "rejected", "none");
+    }
+
+    /**
+     * Executa a operação uma única vez por chave. Se a chave já foi usada com
+     * a mesma requisição, devolve a resposta gravada sem executar a operação.
+     *
+     * A operação roda na transação que grava a chave; um conflito de versão
+     * nas contas repete tudo, inclusive a gravação da chave. Com o ledger, a
+     * chave é reservada antes ({@link #executeReserved}).
+     *
+     * @param operation nome da operação, para que a mesma chave não sirva a
+     *                  operações diferentes
+     */
+    @OptimisticRetry("idempotent")
+    public ResponseEntity<Object> execute(String key, String operation, Object request,
+            Supplier<ResponseEntity<Object>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            rejected.increment();
+            return ResponseEntity.badRequest().body(HEADER + " deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+        }
+
+        var requestHash = hash(operation, request);
+
+        var cached = responses.getIfPresent(key);
+        if (cached != null)
+            return replay(cached, requestHash, replayedFromMemory);
+
+        var stored = idempotencyKeyRepository.findByKey(key);
+        if (stored.isPresent())
+            return replayFromDatabase(stored, requestHash);
+
+        if (ledgerEnabled)
+            return executeReserved(key, requestHash, action);
+
+        var completed = new IdempotencyKey[1];
+        ResponseEntity<Object> response;
+        try {
+            response = transactionTemplate.execute(status -> {
+                var createdAt = LocalDateTime.now();
+                idempotencyKeyRepository.insert(key, requestHash, createdAt);
+
+                var res = action.get();
+                if (!res.getStatusCode().is2xxSuccessful()) {
+                    status.setRollbackOnly(); // Libera a chave para uma nova tentativa
+                    return res;
+                }
+
+                var body = toJson(res.getBody());
+                idempotencyKeyRepository.complete(key, res.getStatusCode().value(), body);
+                completed[0] = new IdempotencyKey(key, requestHash, res.getStatusCode().value(), body, createdAt);
+                return res;
+            });
+        } catch (DuplicateKeyException ex) {
+            // Uma requisição concorrente com a mesma chave terminou antes
+            return replayFromDatabase(idempotencyKeyRepository.findByKey(key), requestHash);
+        }
+
+        executed.increment();
+        if (completed[0] != null)
+            responses.put(key, completed[0]);
+
+        return response;
+    }
+
+    /**
+     * Para operações que não rodam na transação do banco (ledger): reserva e
+     * confirma a chave, executa a operação e grava a resposta em seguida. A
+     * chave só é liberada quando a operação não moveu dinheiro (recusa ou
+     * exceção).
+     */
+    private ResponseEntity<Object> executeReserved(String key, String requestHash,
+            Supplier<ResponseEntity<Object>> action) {
+        var createdAt = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.insert(key, requestHash,
+                    createdAt));
+        } catch (DuplicateKeyException ex) {
+            return replayFromDatabase(idempotencyKeyRepository.findByKey(key), requestHash);
+        }
+
+        ResponseEntity<Object> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            release(key);
+            throw ex;
+        }
+
+        executed.increment();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            release(key);
+            return response;
+        }
+
+        var body = toJson(response.getBody());
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.complete(key,
+                    response.getStatusCode().value(), body));
+        } catch (RuntimeException ex) {
+            // A operação já foi aplicada: a chave fica reservada, e as repetições recebem 409
+            log.error("Falha ao gravar a resposta da chave de idempotência {}", key, ex);
+            return response;
+        }
+
+        responses.put(key, new IdempotencyKey(key, requestHash, response.getStatusCode().value(), body, createdAt));
+        return response;
+    }
+
+    private void release(String key) {
+        transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.delete(key));
+    }
+
+    /**
+     * Remove do banco (de cada shard) as chaves mais antigas que o TTL
+     */
+    @Scheduled(fixedDelayString = "${bankapi.idempotency.cleanup-interval:PT1H}")
+    public void purgeExpired() {
+        var expiredBefore = LocalDateTime.now().minus(ttl);
+        shardRouter.onEach(() -> idempotencyKeyRepository.deleteCreatedBefore(expiredBefore));
+    }
+
+    private ResponseEntity<Object> replayFromDatabase(Optional<IdempotencyKey> stored, String requestHash) {
+        if (stored.isEmpty() || stored.get().getStatus() == 0) {
+            rejected.increment();
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Requisição com esta chave em andamento");
+        }
+
+        responses.put(stored.get().getKey(), stored.get());
+        return replay(stored.get(), requestHash, replayedFromDatabase);
+    }
+
+    private ResponseEntity<Object> replay(IdempotencyKey stored, String requestHash, Counter replayed) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            rejected.increment();
+            return ResponseEntity.unprocessableEntity().body(HEADER + " já utilizada com outra requisição");
+        }
+
+        replayed.increment();
+        return ResponseEntity.status(stored.getStatus())
+                .header(REPLAYED_HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(stored.getBody());
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String hash(String operation, Object request) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                    .digest((operation + ":" + request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome, String source) {
+        return Counter.builder("bankapi.idempotency.requests")
+                .description("Requisições com Idempotency-Key por resultado")
+                .tag("outcome", outcome)
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package br.edu.utfpr.bankapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aplica juros periodicamente em todas as contas.
+ *
+ * Desabilitado por padrão; habilite definindo {@code bankapi.interest.cron}.
+ */
+@Component
+public class InterestAccrualJob {
+    private static final Logger log = LoggerFactory.getLogger(InterestAccrualJob.class);
+
+    @Autowired
+    private InterestAccrualService interestAccrualService;
+
+    @Value("${bankapi.interest.rate:0.5}")
+    private float rate;
+
+    @Value("${bankapi.interest.term:1}")
+    private int term;
+
+    @Scheduled(cron = "${bankapi.interest.cron:-}")
+    public void run() {
+        long inicio = System.nanoTime();
+        var res = interestAccrualService.accrue(rate, term);
+        log.info("Juros aplicados em {} de {} contas (total {} centavos) em {} ms", res.credited(), res.accounts(),
+                res.totalInterest(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
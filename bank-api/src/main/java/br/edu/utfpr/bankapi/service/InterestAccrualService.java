@@ -0,0 +1,146 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.config.CacheConfig;
+import br.edu.utfpr.bankapi.dto.InterestAccrualResultDTO;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.model.Money;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.AccountBalanceRepository;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+
+/**
+ * Aplicação de juros sobre toda a base de contas.
+ *
+ * As contas são percorridas em blocos, por keyset no número da conta. Cada
+ * bloco é processado em uma transação própria: as contas do bloco são lidas
+ * e bloqueadas, os juros são calculados sobre arrays de primitivos e os
+ * saldos e as transações INTEREST são gravados em batch via JDBC. Com
+ * shards, cada shard é percorrido por inteiro, um após o outro.
+ */
+@Service
+public class InterestAccrualService {
+
+    @Autowired
+    private AccountBalanceRepository accountBalanceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Value("${bankapi.interest.chunk-size:5000}")
+    private int chunkSize;
+
+    public InterestAccrualResultDTO accrue(float taxa, int prazo) {
+        // Com o ledger o saldo em memória é a fonte da verdade: atualizar o banco
+        // por fora faria o ledger sobrescrever os juros
+        if (ledgerEngine != null)
+            throw new IllegalStateException("Aplicação de juros indisponível com o ledger habilitado");
+
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        var chunk = new Chunk(chunkSize);
+        var dateTime = LocalDateTime.now();
+
+        long accounts = 0;
+        long credited = 0;
+        long totalInterest = 0;
+        for (var result : shardRouter.onEach(() -> accrueShard(transactionTemplate, chunk, taxa, prazo, dateTime))) {
+            accounts += result.accounts();
+            credited += result.credited();
+            totalInterest = Money.add(totalInterest, result.totalInterest());
+        }
+
+        return new InterestAccrualResultDTO(accounts, credited, totalInterest);
+    }
+
+    private InterestAccrualResultDTO accrueShard(TransactionTemplate transactionTemplate, Chunk chunk, float taxa,
+            int prazo, LocalDateTime dateTime) {
+        long accounts = 0;
+        long credited = 0;
+        long totalInterest = 0;
+        long after = Long.MIN_VALUE;
+
+        while (true) {
+            long cursor = after;
+            transactionTemplate.executeWithoutResult(status -> accrueChunk(chunk, cursor, taxa, prazo, dateTime));
+
+            accounts += chunk.size;
+            credited += chunk.credited;
+            totalInterest = Money.add(totalInterest, chunk.totalInterest);
+
+            if (chunk.size < chunkSize)
+                break;
+            after = chunk.numbers[chunk.size - 1];
+        }
+
+        return new InterestAccrualResultDTO(accounts, credited, totalInterest);
+    }
+
+    private void accrueChunk(Chunk chunk, long after, float taxa, int prazo, LocalDateTime dateTime) {
+        chunk.size = accountBalanceRepository.lockChunk(after, chunkSize, chunk.ids, chunk.numbers, chunk.balances);
+
+        InterestCalculator.calcularJurosCentavos(chunk.balances, chunk.interest, chunk.size, taxa, prazo);
+
+        // Compacta as contas que efetivamente recebem juros
+        var cache = cacheManager.getCache(CacheConfig.ACCOUNTS);
+        chunk.credited = 0;
+        chunk.totalInterest = 0;
+        for (int i = 0; i < chunk.size; i++) {
+            if (chunk.interest[i] <= 0)
+                continue;
+
+            chunk.creditedIds[chunk.credited] = chunk.ids[i];
+            chunk.creditedInterest[chunk.credited] = chunk.interest[i];
+            chunk.credited++;
+            chunk.totalInterest = Money.add(chunk.totalInterest, chunk.interest[i]);
+            cache.evict(chunk.numbers[i]); // Aplicado após o commit
+        }
+
+        if (chunk.credited == 0)
+            return;
+
+        accountBalanceRepository.addToBalances(chunk.creditedIds, chunk.creditedInterest, chunk.credited);
+        accountBalanceRepository.insertCredits(TransactionType.INTEREST.name(), chunk.creditedIds,
+                chunk.creditedInterest, chunk.credited, dateTime);
+    }
+
+    /**
+     * Arrays de trabalho reaproveitados entre os blocos
+     */
+    private static class Chunk {
+        final long[] ids;
+        final long[] numbers;
+        final long[] balances;
+        final long[] interest;
+        final long[] creditedIds;
+        final long[] creditedInterest;
+        int size;
+        int credited;
+        long totalInterest;
+
+        Chunk(int capacity) {
+            ids = new long[capacity];
+            numbers = new long[capacity];
+            balances = new long[capacity];
+            interest = new long[capacity];
+            creditedIds = new long[capacity];
+            creditedInterest = new long[capacity];
+        }
+    }
+}
@@ -1,17 +1,52 @@
 package br.edu.utfpr.bankapi.service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Calculadora de juros
  */
 public class InterestCalculator {
 
-    // Método para calcular juros compostos com base na taxa de juros mensal
+    // Fator (1 + taxa)^prazo já calculado, por taxa e prazo
+    private static final Map<Long, Double> fatores = new ConcurrentHashMap<>();
+
+    // Método para calcular juros compostos com base na taxa de juros mensal (valor arredondado para centavos)
     public static double calcularJuros(double valor, float taxa, int prazo) {
-        float taxaDecimal = taxa / 100; // Convertendo a taxa para decimal
-        double juros = valor * Math.pow(1+taxaDecimal, prazo) - valor;
-        return new BigDecimal(juros).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+        return juros(Math.round(valor * 100), fator(taxa, prazo) - 1) / 100.0;
+    }
+
+    // Mesmo cálculo, com o valor e o resultado em centavos
+    public static long calcularJurosCentavos(long valorCentavos, float taxa, int prazo) {
+        return juros(valorCentavos, fator(taxa, prazo) - 1);
+    }
+
+    /**
+     * Calcula os juros de vários saldos de uma vez: juros[i] recebe os juros,
+     * em centavos, de saldos[i] (saldos negativos não rendem juros).
+     *
+     * O fator é calculado uma única vez e o laço trabalha só com arrays de
+     * primitivos, sem alocação. Para um saldo não negativo, o resultado é o
+     * mesmo de {@link #calcularJurosCentavos(long, float, int)}: as duas usam
+     * {@link #juros(long, double)}.
+     */
+    public static void calcularJurosCentavos(long[] saldos, long[] juros, int quantidade, float taxa, int prazo) {
+        double fator = fator(taxa, prazo) - 1;
+
+        for (int i = 0; i < quantidade; i++)
+            juros[i] = juros(Math.max(saldos[i], 0), fator);
+    }
+
+    static double fator(float taxa, int prazo) {
+        long chave = (long) Float.floatToIntBits(taxa) << 32 | (prazo & 0xFFFFFFFFL);
+        return fatores.computeIfAbsent(chave, k -> {
+            float taxaDecimal = taxa / 100; // Convertendo a taxa para decimal
+            return Math.pow(1+taxaDecimal, prazo);
+        });
+    }
+
+    // Juros em centavos, arredondados meio para o par
+    private static long juros(long valorCentavos, double fatorMenosUm) {
+        return (long) Math.rint(valorCentavos * fatorMenosUm);
     }
 }
@@ -0,0 +1,39 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+/**
+ * Repete a operação quando ela falha por conflito de versão (lock otimista),
+ * com backoff exponencial aleatório (jitter) e número máximo de tentativas
+ * (bankapi.retry.*). Esgotadas as tentativas, a exceção é propagada.
+ *
+ * A nova tentativa só acontece se não houver uma transação externa ainda
+ * aberta: dentro dela a conta desatualizada continuaria no contexto de
+ * persistência, então quem repete é o dono da transação.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(retryFor = OptimisticLockingFailureException.class,
+        exceptionExpression = "!T(org.springframework.transaction.support.TransactionSynchronizationManager)"
+                + ".isActualTransactionActive()",
+        maxAttemptsExpression = "${bankapi.retry.max-attempts:4}",
+        backoff = @Backoff(delayExpression = "${bankapi.retry.delay:5}",
+                maxDelayExpression = "${bankapi.retry.max-delay:100}", multiplier = 2, random = true))
+public @interface OptimisticRetry {
+
+    /**
+     * Nome da operação nas métricas bankapi.retry.*
+     */
+    @AliasFor(annotation = Retryable.class, attribute = "label")
+    String value();
+}
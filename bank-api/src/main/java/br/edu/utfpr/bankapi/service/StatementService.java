@@ -0,0 +1,137 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.utfpr.bankapi.dto.StatementDTO;
+import br.edu.utfpr.bankapi.dto.StatementEntryDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.replica.ReadYourWrites;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.shard.OnShard;
+
+/**
+ * Extrato de conta paginado por keyset em (date_time, id).
+ *
+ * Débitos e créditos são lidos por consultas separadas, cada uma sobre o seu
+ * índice, e intercalados em memória. O cursor guarda a posição do último
+ * lançamento devolvido, então o custo de uma página não depende de quantas
+ * páginas vieram antes.
+ */
+@Service
+public class StatementService {
+    // Limite inferior padrão do período (datas anteriores não são usadas)
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final Comparator<StatementEntryDTO> MOST_RECENT_FIRST = Comparator
+            .comparing(StatementEntryDTO::dateTime)
+            .thenComparingLong(StatementEntryDTO::transactionId)
+            .reversed();
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    /**
+     * Página do extrato da conta entre {@code from} e {@code to} (inclusive;
+     * null para sem limite), a partir do {@code cursor} (null na primeira
+     * página). Com réplicas de leitura, o extrato de uma conta alterada
+     * recentemente é lido do primário.
+     */
+    @OnShard(account = "#number")
+    @Transactional(readOnly = true)
+    public StatementDTO getStatement(long number, LocalDateTime from, LocalDateTime to, String cursor, int size)
+            throws NotFoundException {
+        return readYourWrites.onPrimary(number, () -> read(number, from, to, cursor, size));
+    }
+
+    private StatementDTO read(long number, LocalDateTime from, LocalDateTime to, String cursor, int size)
+            throws NotFoundException {
+        var account = accountService.getByNumber(number)
+                .orElseThrow(() -> NotFoundException.account(number));
+
+        if (from == null)
+            from = EPOCH;
+
+        LocalDateTime beforeDateTime;
+        long beforeId;
+        if (cursor != null) {
+            var position = decodeCursor(cursor);
+            beforeDateTime = position.dateTime();
+            beforeId = position.transactionId();
+        } else {
+            beforeDateTime = to != null ? to : LocalDateTime.now();
+            beforeId = Long.MAX_VALUE; // Inclui lançamentos exatamente em "to"
+        }
+
+        // Um a mais de cada lado, para saber se existe próxima página
+        var limit = Limit.of(size + 1);
+        var debits = transactionRepository.findDebits(account.getId(), from, beforeDateTime, beforeId, limit);
+        var credits = transactionRepository.findCredits(account.getId(), from, beforeDateTime, beforeId, limit);
+
+        var entries = merge(debits, credits, size + 1);
+
+        String nextCursor = null;
+        if (entries.size() > size) {
+            entries = entries.subList(0, size);
+            nextCursor = encodeCursor(entries.get(size - 1));
+        }
+
+        return new StatementDTO(number, entries, nextCursor);
+    }
+
+    /**
+     * Intercala duas listas já ordenadas (mais recente primeiro), até
+     * {@code max} lançamentos
+     */
+    private static List<StatementEntryDTO> merge(List<StatementEntryDTO> a, List<StatementEntryDTO> b, int max) {
+        var merged = new ArrayList<StatementEntryDTO>(Math.min(max, a.size() + b.size()));
+        int i = 0;
+        int j = 0;
+
+        while (merged.size() < max && (i < a.size() || j < b.size())) {
+            if (j >= b.size() || (i < a.size() && MOST_RECENT_FIRST.compare(a.get(i), b.get(j)) <= 0))
+                merged.add(a.get(i++));
+            else
+                merged.add(b.get(j++));
+        }
+
+        return merged;
+    }
+
+    private static String encodeCursor(StatementEntryDTO entry) {
+        var raw = entry.dateTime() + "|" + entry.transactionId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decodeCursor(String cursor) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separator = raw.indexOf('|');
+            return new Position(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Posição do último lançamento de uma página
+     */
+    private record Position(LocalDateTime dateTime, long transactionId) {
+    }
+}
@@ -1,62 +1,131 @@
 package br.edu.utfpr.bankapi.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import br.edu.utfpr.bankapi.audit.AuditEvent;
+import br.edu.utfpr.bankapi.config.CacheConfig;
+import br.edu.utfpr.bankapi.dto.BatchItemDTO;
+import br.edu.utfpr.bankapi.dto.BatchItemResultDTO;
 import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionView;
 import br.edu.utfpr.bankapi.dto.TransferDTO;
 import br.edu.utfpr.bankapi.dto.WithdrawDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Money;
 import br.edu.utfpr.bankapi.model.Transaction;
 import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.model.TransferOutbox;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
 import br.edu.utfpr.bankapi.repository.TransactionRepository;
-import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
-import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+import br.edu.utfpr.bankapi.repository.TransferOutboxRepository;
+import br.edu.utfpr.bankapi.shard.OnShard;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+import br.edu.utfpr.bankapi.validations.SpendingLimitValidation;
+import br.edu.utfpr.bankapi.validations.TransactionValidationChain;
+import br.edu.utfpr.bankapi.validations.ValidationContext;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 
 @Service
 public class TransactionService {
+    // Tempo das operações, com histograma e a exceção que causou a rejeição
+    public static final String TIMER = "bankapi.transaction";
+
+    // Quantidade máxima de números de conta por consulta IN (...)
+    private static final int BATCH_LOOKUP_SIZE = 1000;
+
+    private static final String OTHER_SHARD = "Conta pertence a outro shard";
+
+    @Autowired
+    private AccountRepository accountRepository;
+
     @Autowired
     private TransactionRepository transactionRepository;
 
     @Autowired
-    private AvailableBalanceValidation availableBalanceValidation;
+    private TransactionValidationChain validationChain;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private TransferOutboxRepository transferOutboxRepository;
 
     @Autowired
-    private AvailableAccountValidation availableAccountValidation;
+    private SpendingLimitValidation spendingLimit;
 
+    /**
+     * Consulta de transação por id, já no formato de resposta
+     */
+    @OnShard(id = "#id")
+    public Optional<TransactionView> getView(long id) {
+        return transactionRepository.findViewById(id);
+    }
+
+    @Timed(value = TIMER, extraTags = { "operation", "transfer" }, histogram = true)
+    @OnShard(account = "#dto.sourceAccountNumber")
+    @OptimisticRetry("transfer")
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ACCOUNTS, key = "#dto.sourceAccountNumber"),
+            @CacheEvict(cacheNames = CacheConfig.ACCOUNTS, key = "#dto.receiverAccountNumber")
+    })
     public Transaction transfer(TransferDTO dto) throws NotFoundException {
         var transaction = new Transaction();
         transaction.setType(TransactionType.TRANSFER);
         BeanUtils.copyProperties(dto, transaction);
 
-        // Valida e obtém a Conta de ORIGEM da transferência
-        var source = availableAccountValidation.validate(dto.sourceAccountNumber());
-        // Valida e obtém Conta de DESTINO da transferência
-        var receiver = availableAccountValidation.validate(dto.receiverAccountNumber());
+        // Obtém e bloqueia as contas de ORIGEM e DESTINO em uma única consulta
+        // e executa as validações sobre elas
+        var accounts = validationChain.lockAccounts(dto.sourceAccountNumber(), dto.receiverAccountNumber());
 
-        // Seta a conta de origem da transferência
-        transaction.setSourceAccount(source);
-        // Seta a conta de destino da transferência
-        transaction.setReceiverAccount(receiver);
+        // Conta de destino em outro shard: lida de lá só para as validações; o
+        // crédito é feito depois, a partir do outbox
+        var remote = shardRouter.isRemote(dto.receiverAccountNumber());
+        if (remote)
+            validationChain.loadRemoteAccounts(accounts, List.of(dto.receiverAccountNumber()));
+
+        var context = ValidationContext.of(dto, accounts);
+        validationChain.check(context);
 
-        // Verifica se a conta de origem possui saldo
-        availableBalanceValidation.validate(transaction);
+        // Seta a conta de origem da transferência
+        transaction.setSourceAccount(context.source());
 
         // Debitando o valor da conta de origem
         transaction.getSourceAccount()
-                .setBalance(transaction.getSourceAccount().getBalance() - transaction.getAmount());
+                .setBalance(Money.subtract(transaction.getSourceAccount().getBalance(), transaction.getAmount()));
+
+        if (remote)
+            return saveRemoteTransfer(transaction, dto.receiverAccountNumber());
+
+        // Seta a conta de destino da transferência
+        transaction.setReceiverAccount(context.receiver());
 
         // Creditando o valor na conta de destino
         transaction.getReceiverAccount()
-                .setBalance(transaction.getReceiverAccount().getBalance() + transaction.getAmount());
-
-        System.out.println(transaction);
+                .setBalance(Money.add(transaction.getReceiverAccount().getBalance(), transaction.getAmount()));
 
         // Salvando a transação
-        return transactionRepository.save(transaction);
+        return saveAndAudit(transaction);
     }
 
     /**
@@ -66,26 +135,29 @@ public class TransactionService {
      * 
      * @throws Exception
      */
+    @Timed(value = TIMER, extraTags = { "operation", "deposit" }, histogram = true)
+    @OnShard(account = "#dto.receiverAccountNumber")
+    @OptimisticRetry("deposit")
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACCOUNTS, key = "#dto.receiverAccountNumber")
     public Transaction deposit(DepositDTO dto) throws NotFoundException {
         var transaction = new Transaction();
         transaction.setType(TransactionType.DEPOSIT);
         BeanUtils.copyProperties(dto, transaction);
 
-        // Valida e obtém Conta de DESTINO do depósito
-        var receiver = availableAccountValidation.validate(dto.receiverAccountNumber());
+        // Obtém e valida a Conta de DESTINO do depósito
+        var context = ValidationContext.of(dto, validationChain.loadAccount(dto.receiverAccountNumber()));
+        validationChain.check(context);
 
         // Seta a conta de destino do depósito
-        transaction.setReceiverAccount(receiver);
-
-        System.out.println(transaction);
+        transaction.setReceiverAccount(context.receiver());
 
         // Creditando o valor do depósito na conta de destino
         transaction.getReceiverAccount()
-                .setBalance(transaction.getReceiverAccount().getBalance() + transaction.getAmount());
+                .setBalance(Money.add(transaction.getReceiverAccount().getBalance(), transaction.getAmount()));
 
         // Salvando a transação
-        return transactionRepository.save(transaction);
+        return saveAndAudit(transaction);
     }
 
     /**
@@ -95,28 +167,158 @@ public class TransactionService {
      * 
      * @throws Exception
      */
+    @Timed(value = TIMER, extraTags = { "operation", "withdraw" }, histogram = true)
+    @OnShard(account = "#dto.sourceAccountNumber")
+    @OptimisticRetry("withdraw")
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACCOUNTS, key = "#dto.sourceAccountNumber")
     public Transaction withdraw(WithdrawDTO dto) throws NotFoundException {
         var transaction = new Transaction();
         transaction.setType(TransactionType.WITHDRAW);
         BeanUtils.copyProperties(dto, transaction);
 
-        // Valida e obtém a Conta de ORIGEM do Saque
-        var source = availableAccountValidation.validate(dto.sourceAccountNumber());
+        // Obtém e valida a Conta de ORIGEM do Saque (inclusive o saldo)
+        var context = ValidationContext.of(dto, validationChain.loadAccount(dto.sourceAccountNumber()));
+        validationChain.check(context);
 
         // Setando a conta de origem do saque
-        transaction.setSourceAccount(source);
-
-        // Verifica se a conta de origem possui saldo
-        availableBalanceValidation.validate(transaction);
-
-        System.out.println(transaction);
+        transaction.setSourceAccount(context.source());
 
         // Debitando o valor da conta de origem do saque
         transaction.getSourceAccount()
-                .setBalance(transaction.getSourceAccount().getBalance() - transaction.getAmount());
+                .setBalance(Money.subtract(transaction.getSourceAccount().getBalance(), transaction.getAmount()));
 
         // Salvando a transação
-        return transactionRepository.save(transaction);
+        return saveAndAudit(transaction);
+    }
+
+    /**
+     * Processa um lote de transações em uma única transação de banco.
+     *
+     * Todas as contas envolvidas são carregadas (e bloqueadas, em ordem
+     * crescente de número) de uma só vez. Os itens são aplicados na ordem em
+     * que foram enviados; um item rejeitado não interrompe o lote.
+     *
+     * Com shards, o lote é processado no shard corrente: itens cuja conta de
+     * origem (ou de destino, no depósito) está em outro shard são rejeitados,
+     * e transferências para outro shard são debitadas e vão para o outbox.
+     */
+    @Timed(value = TIMER, extraTags = { "operation", "batch" }, histogram = true)
+    @Transactional
+    public List<BatchItemResultDTO> batch(List<BatchItemDTO> items) {
+        // Números de todas as contas envolvidas, em ordem crescente
+        var numbers = new TreeSet<Long>();
+        var remoteNumbers = new TreeSet<Long>();
+        for (var item : items) {
+            if (item.hasSource())
+                numbers.add(item.sourceAccountNumber());
+            if (item.hasReceiver())
+                (shardRouter.isRemote(item.receiverAccountNumber()) ? remoteNumbers : numbers)
+                        .add(item.receiverAccountNumber());
+        }
+
+        var accounts = new HashMap<Long, Account>();
+        var chunk = new ArrayList<Long>(BATCH_LOOKUP_SIZE);
+        for (var number : numbers) {
+            chunk.add(number);
+            if (chunk.size() == BATCH_LOOKUP_SIZE) {
+                accountRepository.lockAllByNumberIn(chunk).forEach(a -> accounts.put(a.getNumber(), a));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty())
+            accountRepository.lockAllByNumberIn(chunk).forEach(a -> accounts.put(a.getNumber(), a));
+
+        // Destinos em outros shards, só para as validações
+        if (!remoteNumbers.isEmpty())
+            validationChain.loadRemoteAccounts(accounts, remoteNumbers);
+
+        var transactions = new Transaction[items.size()];
+        var rejections = new String[items.size()];
+
+        for (int i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+
+            if (shardRouter.isRemote(item.homeAccountNumber())) {
+                rejections[i] = OTHER_SHARD;
+                continue;
+            }
+
+            // Mesmas validações das operações individuais, sobre as contas já carregadas
+            var rejection = validationChain.validate(ValidationContext.of(item, accounts));
+            if (rejection.isPresent()) {
+                rejections[i] = rejection.get().message();
+                continue;
+            }
+
+            var transaction = new Transaction();
+            transaction.setType(item.type());
+            transaction.setAmount(item.amount());
+
+            if (item.hasSource()) {
+                transaction.setSourceAccount(accounts.get(item.sourceAccountNumber()));
+                transaction.getSourceAccount()
+                        .setBalance(Money.subtract(transaction.getSourceAccount().getBalance(), transaction.getAmount()));
+                spendingLimit.record(item.sourceAccountNumber(), item.amount()); // Conta para os próximos itens
+            }
+
+            if (item.hasReceiver() && shardRouter.isRemote(item.receiverAccountNumber())) {
+                transaction.setRemoteAccountNumber(item.receiverAccountNumber()); // Crédito pelo outbox
+            } else if (item.hasReceiver()) {
+                transaction.setReceiverAccount(accounts.get(item.receiverAccountNumber()));
+                transaction.getReceiverAccount()
+                        .setBalance(Money.add(transaction.getReceiverAccount().getBalance(), transaction.getAmount()));
+            }
+
+            transactions[i] = transaction;
+        }
+
+        // Remove as contas do cache (aplicado após o commit)
+        var cache = cacheManager.getCache(CacheConfig.ACCOUNTS);
+        for (var number : accounts.keySet())
+            cache.evict(number);
+
+        // Salvando as transações do lote (inserts em batch via hibernate.jdbc.batch_size)
+        var accepted = new ArrayList<Transaction>(items.size());
+        for (var transaction : transactions)
+            if (transaction != null)
+                accepted.add(transaction);
+        transactionRepository.saveAll(accepted);
+        for (var transaction : accepted) {
+            eventPublisher.publishEvent(AuditEvent.of(transaction));
+            if (transaction.getRemoteAccountNumber() != null)
+                transferOutboxRepository.save(new TransferOutbox(transaction));
+        }
+
+        var results = new ArrayList<BatchItemResultDTO>(items.size());
+        for (int i = 0; i < items.size(); i++)
+            results.add(transactions[i] != null
+                    ? BatchItemResultDTO.success(i, transactions[i].getId())
+                    : BatchItemResultDTO.rejected(i, rejections[i]));
+
+        return results;
+    }
+
+    /**
+     * Débito de uma transferência para outro shard: grava a transação e, na
+     * mesma transação de banco, o crédito pendente no outbox
+     */
+    private Transaction saveRemoteTransfer(Transaction transaction, long receiverAccountNumber) {
+        transaction.setRemoteAccountNumber(receiverAccountNumber);
+        var saved = saveAndAudit(transaction);
+        transferOutboxRepository.save(new TransferOutbox(saved));
+        return saved;
+    }
+
+    /**
+     * Salva a transação e publica o evento de auditoria, que só é registrado
+     * depois do commit. Débitos também contam para os limites de gastos.
+     */
+    private Transaction saveAndAudit(Transaction transaction) {
+        var saved = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(AuditEvent.of(transaction));
+        if (transaction.getSourceAccount() != null)
+            spendingLimit.record(transaction.getSourceAccount().getNumber(), transaction.getAmount());
+        return saved;
     }
 }
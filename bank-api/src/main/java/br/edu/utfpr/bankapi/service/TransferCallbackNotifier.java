@@ -0,0 +1,39 @@
+package br.edu.utfpr.bankapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import br.edu.utfpr.bankapi.dto.TransferRequestView;
+
+/**
+ * Notifica o resultado de uma transferência assíncrona na URL de callback
+ * informada pelo cliente. A entrega é de melhor esforço: uma falha é apenas
+ * registrada no log, e o cliente ainda pode consultar a transferência.
+ */
+@Component
+public class TransferCallbackNotifier {
+    private static final Logger log = LoggerFactory.getLogger(TransferCallbackNotifier.class);
+
+    private final RestClient restClient;
+
+    public TransferCallbackNotifier(RestClient.Builder restClientBuilder) {
+        this.restClient = restClientBuilder.build();
+    }
+
+    public void notify(String callbackUrl, TransferRequestView view) {
+        try {
+            restClient.post()
+                    .uri(callbackUrl)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(view)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RestClientException | IllegalArgumentException ex) {
+            log.warn("Falha ao notificar a transferência {} em {}", view.id(), callbackUrl, ex);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Executa o método no shard de uma conta ({@link #account}) ou de uma
+ * entidade ({@link #id}), dados por expressões SpEL sobre os parâmetros, como
+ * as chaves de {@code @Cacheable}.
+ *
+ * O shard é escolhido antes de qualquer outro interceptor (retry, transação,
+ * cache), então a transação do método já nasce no shard certo.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface OnShard {
+
+    /**
+     * Número da conta, ex.: {@code "#dto.sourceAccountNumber"}
+     */
+    String account() default "";
+
+    /**
+     * Id gerado em um shard, ex.: {@code "#id"}
+     */
+    String id() default "";
+}
@@ -0,0 +1,84 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Shards, ativados com {@code bankapi.datasource.shards} (URLs JDBC dos shards
+ * 1 em diante, separadas por vírgula).
+ *
+ * O shard 0 continua configurado por spring.datasource.*; cada um dos demais
+ * usa um pool com as mesmas configurações (usuário, senha,
+ * spring.datasource.hikari.*) e a sua URL. O DataSource da aplicação passa a
+ * ser o {@link ShardRoutingDataSource}.
+ *
+ * Não pode ser combinado com o ledger em memória nem com réplicas de leitura.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bankapi.datasource.shards")
+public class ShardDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource firstShardDataSource(DataSourceProperties properties) {
+        var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("shard-0");
+        return dataSource;
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(HikariDataSource firstShardDataSource,
+            @Value("${bankapi.datasource.shards}") List<String> urls,
+            @Value("${bankapi.datasource.replicas:}") List<String> replicas,
+            @Value("${bankapi.ledger.enabled:false}") boolean ledgerEnabled,
+            MeterRegistry meterRegistry) {
+        if (!replicas.isEmpty())
+            throw new IllegalStateException("bankapi.datasource.shards não pode ser usado com réplicas de leitura");
+        if (ledgerEnabled)
+            throw new IllegalStateException("bankapi.datasource.shards não pode ser usado com o ledger em memória");
+
+        var shards = new ArrayList<HikariDataSource>();
+        shards.add(firstShardDataSource);
+        for (var url : urls) {
+            var config = new HikariConfig();
+            firstShardDataSource.copyStateTo(config);
+            config.setPoolName("shard-" + shards.size());
+            config.setJdbcUrl(url.trim());
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(new HikariDataSource(config));
+        }
+
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+            DataSource dataSource, ShardRouter shardRouter,
+            @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        return new ShardSchemaInitializer(entityManagerFactory, dataSource, shardRouter, ddlAuto);
+    }
+}
@@ -0,0 +1,138 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Particionamento das contas por hash do número em
+ * {@code 1 + bankapi.datasource.shards} bancos (shard 0 é o
+ * spring.datasource.*).
+ *
+ * Uma conta, as suas transações e tudo o que parte dela (chaves de
+ * idempotência, transferências assíncronas, outbox) ficam no shard do seu
+ * número. Os ids gerados em cada shard começam em {@link #firstId}, então o
+ * shard de uma entidade também é conhecido pelo id.
+ *
+ * O shard corrente vale para a thread e é lido pelo
+ * {@link ShardRoutingDataSource} na primeira consulta da transação: deve ser
+ * escolhido antes da transação começar, por {@link #on} ou {@link OnShard}.
+ * Com um único shard nada disso tem efeito.
+ */
+@Component
+public class ShardRouter {
+    // Bits do id reservados à sequência de cada shard
+    static final int ID_SHIFT = 48;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final int shards;
+    private final PlatformTransactionManager transactionManager;
+    private final DefaultTransactionDefinition newTransaction;
+
+    public ShardRouter(@Value("${bankapi.datasource.shards:}") List<String> shardUrls,
+            PlatformTransactionManager transactionManager) {
+        this.shards = 1 + shardUrls.size();
+        this.transactionManager = transactionManager;
+        this.newTransaction = new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    /**
+     * Shard da conta: hash do número (finalizador do MurmurHash3), para que
+     * números sequenciais se espalhem entre os shards
+     */
+    public int shardOf(long accountNumber) {
+        long h = accountNumber;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) Math.floorMod(h, (long) shards);
+    }
+
+    /**
+     * Shard em que a entidade com este id foi gravada
+     */
+    public int shardOfId(long id) {
+        return (int) Math.min(id >>> ID_SHIFT, shards - 1);
+    }
+
+    /**
+     * Primeiro id gerado no shard
+     */
+    public static long firstId(int shard) {
+        return ((long) shard << ID_SHIFT) + 1;
+    }
+
+    public static int current() {
+        var shard = CURRENT.get();
+        return shard == null ? 0 : shard;
+    }
+
+    /**
+     * Conta em outro shard que não o corrente
+     */
+    public boolean isRemote(long accountNumber) {
+        return shards > 1 && shardOf(accountNumber) != current();
+    }
+
+    /**
+     * Executa {@code call} no shard. Dentro de uma transação aberta em outro
+     * shard, {@code call} roda em uma transação própria (REQUIRES_NEW), que
+     * faz commit independente da transação externa.
+     */
+    public <T, E extends Throwable> T on(int shard, ShardCall<T, E> call) throws E {
+        if (shards == 1 || shard == current())
+            return call.call();
+
+        var previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            if (!TransactionSynchronizationManager.isActualTransactionActive())
+                return call.call();
+
+            var status = transactionManager.getTransaction(newTransaction);
+            T result;
+            try {
+                result = call.call();
+            } catch (Throwable ex) {
+                transactionManager.rollback(status);
+                throw ex;
+            }
+            transactionManager.commit(status);
+            return result;
+        } finally {
+            if (previous == null)
+                CURRENT.remove();
+            else
+                CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Executa {@code call} em cada shard, em ordem, devolvendo os resultados
+     * na ordem dos shards
+     */
+    public <T, E extends Throwable> List<T> onEach(ShardCall<T, E> call) throws E {
+        var results = new ArrayList<T>(shards);
+        for (int shard = 0; shard < shards; shard++)
+            results.add(on(shard, call));
+        return results;
+    }
+
+    @FunctionalInterface
+    public interface ShardCall<T, E extends Throwable> {
+        T call() throws E;
+    }
+}
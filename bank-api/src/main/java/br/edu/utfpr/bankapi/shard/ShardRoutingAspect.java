@@ -0,0 +1,57 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aplica {@link OnShard}, antes de cache, retry e transação. Logo depois do
+ * ExposeInvocationInterceptor (HIGHEST_PRECEDENCE + 1), de que o AspectJ
+ * depende.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ShardRoutingAspect {
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final ConcurrentHashMap<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Around("@annotation(onShard)")
+    public Object route(ProceedingJoinPoint joinPoint, OnShard onShard) throws Throwable {
+        if (shardRouter.shards() == 1)
+            return joinPoint.proceed();
+
+        var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        var context = new MethodBasedEvaluationContext(joinPoint.getTarget(), method, joinPoint.getArgs(),
+                parameterNames);
+
+        int shard = onShard.account().isEmpty()
+                ? shardRouter.shardOfId(evaluate(onShard.id(), context))
+                : shardRouter.shardOf(evaluate(onShard.account(), context));
+
+        return shardRouter.on(shard, joinPoint::proceed);
+    }
+
+    private long evaluate(String expression, MethodBasedEvaluationContext context) {
+        var value = expressions.computeIfAbsent(expression, parser::parseExpression).getValue(context, Long.class);
+        if (value == null)
+            throw new IllegalArgumentException("Chave de shard nula: " + expression);
+        return value;
+    }
+}
@@ -0,0 +1,32 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.util.HashMap;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Envia cada conexão ao banco do shard corrente ({@link ShardRouter#current}).
+ *
+ * A escolha é feita ao obter a conexão, então este DataSource deve ficar
+ * atrás de um {@code LazyConnectionDataSourceProxy}: a conexão de uma
+ * transação só é obtida na primeira consulta, quando o shard já foi escolhido.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(List<? extends DataSource> shards) {
+        var targets = new HashMap<Object, Object>();
+        for (int shard = 0; shard < shards.size(); shard++)
+            targets.put(shard, shards.get(shard));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardRouter.current();
+    }
+}
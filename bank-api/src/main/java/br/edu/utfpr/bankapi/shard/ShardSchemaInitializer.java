@@ -0,0 +1,82 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Prepara os shards na inicialização.
+ *
+ * O Hibernate só gera o esquema (spring.jpa.hibernate.ddl-auto) no shard 0;
+ * com create/create-drop ele é gerado aqui também nos demais. Sem isso, o
+ * esquema de cada shard é responsabilidade das migrações, como o do shard 0.
+ *
+ * Em seguida, as sequences e colunas identity de cada shard passam a gerar
+ * ids a partir de {@link ShardRouter#firstId}, se ainda não estiverem nessa
+ * faixa.
+ */
+public class ShardSchemaInitializer implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    // Tabelas com id consultado por id (GET /.../{id}): gerado por sequence
+    // (ShardSequenceGenerator) ou pela coluna identity
+    static final Map<String, String> SEQUENCES = Map.of("tb_account", "sq_account", "tb_transaction",
+            "sq_transaction");
+    static final List<String> IDENTITY_TABLES = List.of("tb_transfer_request", "tb_transfer_outbox");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final String ddlAuto;
+
+    public ShardSchemaInitializer(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+            ShardRouter shardRouter, String ddlAuto) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.shardRouter = shardRouter;
+        this.ddlAuto = ddlAuto;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        var schemaManager = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+
+        for (int shard = 1; shard < shardRouter.shards(); shard++) {
+            int current = shard;
+            shardRouter.on(shard, () -> {
+                if (ddlAuto.equals("create") || ddlAuto.equals("create-drop")) {
+                    schemaManager.dropMappedObjects(false);
+                    schemaManager.exportMappedObjects(false);
+                }
+
+                long first = ShardRouter.firstId(current);
+                SEQUENCES.forEach((table, sequence) -> {
+                    if (maxId(table) < first) {
+                        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + first);
+                        log.info("Shard {}: ids de {} a partir de {}", current, table, first);
+                    }
+                });
+                for (var table : IDENTITY_TABLES) {
+                    if (maxId(table) < first) {
+                        jdbcTemplate.execute("alter table " + table + " alter column id restart with " + first);
+                        log.info("Shard {}: ids de {} a partir de {}", current, table, first);
+                    }
+                }
+                return null;
+            });
+        }
+    }
+
+    private long maxId(String table) {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+    }
+}
@@ -0,0 +1,54 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.util.function.Supplier;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+/**
+ * Ids tirados de uma sequence em blocos (parâmetros {@code increment_size} e
+ * {@code optimizer = pooled-lo}): uma ida ao banco a cada bloco, e o insert
+ * não precisa ser executado na hora para conhecer o id, então entra nos
+ * batches JDBC.
+ *
+ * Cada shard tem a sua sequence, com ids a partir de
+ * {@link ShardRouter#firstId}; os blocos em memória são separados por shard
+ * (o otimizador guarda um bloco por "tenant", aqui o shard corrente).
+ */
+public class ShardSequenceGenerator extends SequenceStyleGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        var callback = getDatabaseStructure().buildCallback(session);
+        return generate(callback::getNextValue);
+    }
+
+    /**
+     * Próximo id do bloco em memória do shard corrente. {@code nextValue} só é
+     * chamado quando o bloco acaba, para tirar o próximo da sequence.
+     */
+    public Object generate(Supplier<IntegralDataTypeHolder> nextValue) {
+        var shard = Integer.toString(ShardRouter.current());
+
+        return getOptimizer().generate(new AccessCallback() {
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                return nextValue.get();
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return shard;
+            }
+        });
+    }
+
+    /**
+     * Próximo valor da sequence, lido do banco na sessão {@code session}
+     */
+    public IntegralDataTypeHolder nextValue(SharedSessionContractImplementor session) {
+        return getDatabaseStructure().buildCallback(session).getNextValue();
+    }
+}
@@ -0,0 +1,186 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.audit.AuditEvent;
+import br.edu.utfpr.bankapi.config.CacheConfig;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.model.Money;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.model.TransferInbox;
+import br.edu.utfpr.bankapi.model.TransferOutbox;
+import br.edu.utfpr.bankapi.model.TransferRequestStatus;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.repository.TransferInboxRepository;
+import br.edu.utfpr.bankapi.repository.TransferOutboxRepository;
+import br.edu.utfpr.bankapi.validations.SpendingLimitValidation;
+import br.edu.utfpr.bankapi.validations.TransactionValidationChain;
+import br.edu.utfpr.bankapi.validations.ValidationContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Conclui as transferências entre shards a partir do outbox.
+ *
+ * Em cada shard, os créditos pendentes são reservados com SKIP LOCKED em uma
+ * transação. Cada crédito é feito no shard de destino, em uma transação
+ * própria que grava também o item no inbox: se o shard de origem falhar
+ * antes de marcar o item como COMPLETED, o item é reenviado e o inbox impede
+ * o segundo crédito. Um crédito recusado pelas validações (conta de destino
+ * bloqueada ou inexistente) estorna o débito na conta de origem, na mesma
+ * transação que marca o item como REJECTED, e o desconta dos limites de
+ * gastos.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapi.datasource.shards")
+public class TransferOutboxRelay {
+    private final TransferOutboxRepository outboxRepository;
+    private final TransferInboxRepository inboxRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionValidationChain validationChain;
+    private final SpendingLimitValidation spendingLimit;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache accountCache;
+    private final int batchSize;
+    private final Counter completed;
+    private final Counter rejected;
+
+    public TransferOutboxRelay(TransferOutboxRepository outboxRepository, TransferInboxRepository inboxRepository,
+            AccountRepository accountRepository, TransactionRepository transactionRepository,
+            TransactionValidationChain validationChain, SpendingLimitValidation spendingLimit,
+            ShardRouter shardRouter, PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher, CacheManager cacheManager, MeterRegistry meterRegistry,
+            @Value("${bankapi.outbox.batch-size:100}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.inboxRepository = inboxRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.validationChain = validationChain;
+        this.spendingLimit = spendingLimit;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.accountCache = cacheManager.getCache(CacheConfig.ACCOUNTS);
+        this.batchSize = batchSize;
+        this.completed = relayed(meterRegistry, "completed");
+        this.rejected = relayed(meterRegistry, "rejected");
+    }
+
+    private static Counter relayed(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("bankapi.outbox.relayed")
+                .description("Transferências entre shards concluídas, por resultado")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Processa um lote de créditos pendentes de cada shard
+     *
+     * @return quantidade de itens do outbox processados
+     */
+    @Scheduled(fixedDelayString = "${bankapi.outbox.relay-interval:PT0.5S}")
+    public int relay() {
+        return shardRouter.onEach(this::relayShard).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private int relayShard() {
+        return transactionTemplate.execute(status -> {
+            var pending = outboxRepository.claimPending(Limit.of(batchSize));
+
+            for (var outbox : pending) {
+                var credit = shardRouter.on(shardRouter.shardOf(outbox.getReceiverAccountNumber()),
+                        () -> transactionTemplate.execute(creditStatus -> credit(outbox)));
+
+                outbox.setProcessedAt(LocalDateTime.now());
+                if (credit.rejection() == null) {
+                    outbox.setStatus(TransferRequestStatus.COMPLETED);
+                    outbox.setCreditTransactionId(credit.transactionId());
+                    completed.increment();
+                } else {
+                    refund(outbox);
+                    outbox.setStatus(TransferRequestStatus.REJECTED);
+                    outbox.setMessage(credit.rejection());
+                    rejected.increment();
+                }
+            }
+            return pending.size();
+        });
+    }
+
+    /**
+     * Crédito na conta de destino, no shard de destino
+     */
+    private Credit credit(TransferOutbox outbox) {
+        var done = inboxRepository.findById(outbox.getId());
+        if (done.isPresent())
+            return new Credit(done.get().getCreditTransactionId(), null); // Item reenviado
+
+        var number = outbox.getReceiverAccountNumber();
+        var accounts = validationChain.lockAccounts(number);
+        var rejection = validationChain.validate(ValidationContext.of(new DepositDTO(number, outbox.getAmount()),
+                accounts));
+        if (rejection.isPresent())
+            return new Credit(null, rejection.get().message());
+
+        var receiver = accounts.get(number);
+        receiver.setBalance(Money.add(receiver.getBalance(), outbox.getAmount()));
+
+        var transaction = new Transaction();
+        transaction.setType(TransactionType.TRANSFER);
+        transaction.setAmount(outbox.getAmount());
+        transaction.setDateTime(LocalDateTime.now());
+        transaction.setReceiverAccount(receiver);
+        transaction.setRemoteAccountNumber(outbox.getSourceAccountNumber());
+
+        var saved = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(AuditEvent.of(saved));
+        inboxRepository.save(new TransferInbox(outbox.getId(), saved.getId(), saved.getDateTime()));
+        accountCache.evict(number); // Aplicado após o commit
+
+        return new Credit(saved.getId(), null);
+    }
+
+    /**
+     * Devolve o valor à conta de origem, como um crédito de transferência
+     * vindo da conta de destino pretendida
+     */
+    private void refund(TransferOutbox outbox) {
+        var number = outbox.getSourceAccountNumber();
+        var source = accountRepository.lockByNumber(number)
+                .orElseThrow(() -> new IllegalStateException("Conta de origem " + number + " não encontrada"));
+        source.setBalance(Money.add(source.getBalance(), outbox.getAmount()));
+        spendingLimit.record(number, Math.negateExact(outbox.getAmount()));
+
+        var transaction = new Transaction();
+        transaction.setType(TransactionType.TRANSFER);
+        transaction.setAmount(outbox.getAmount());
+        transaction.setDateTime(LocalDateTime.now());
+        transaction.setReceiverAccount(source);
+        transaction.setRemoteAccountNumber(outbox.getReceiverAccountNumber());
+
+        eventPublisher.publishEvent(AuditEvent.of(transactionRepository.save(transaction)));
+        accountCache.evict(number); // Aplicado após o commit
+    }
+
+    /**
+     * Resultado do crédito: a transação gravada, ou o motivo da recusa
+     */
+    private record Credit(Long transactionId, String rejection) {
+    }
+}
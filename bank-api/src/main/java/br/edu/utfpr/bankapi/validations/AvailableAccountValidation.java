@@ -1,28 +1,25 @@
 package br.edu.utfpr.bankapi.validations;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import java.util.Optional;
 
-import br.edu.utfpr.bankapi.exception.NotFoundException;
-import br.edu.utfpr.bankapi.model.Account;
-import br.edu.utfpr.bankapi.repository.AccountRepository;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
 
 /**
  * Validar se existe uma conta cadastrada
  */
 @Component
-public class AvailableAccountValidation {
+@Order(20)
+public class AvailableAccountValidation implements TransactionValidator {
 
-    @Autowired
-    private AccountRepository accountRepository;
+    @Override
+    public Optional<Rejection> validate(ValidationContext context) {
+        if (context.hasSource() && context.source() == null)
+            return Optional.of(Rejection.accountNotFound(context.sourceAccountNumber()));
 
-    public Account validate(long number) throws NotFoundException {
-        var account = accountRepository.getByNumber(number); // Busca uma conta
+        if (context.hasReceiver() && context.receiver() == null)
+            return Optional.of(Rejection.accountNotFound(context.receiverAccountNumber()));
 
-        if (account.isEmpty())
-            throw new NotFoundException("Conta " + number + " inexistente");
-
-        return account.get();
+        return Optional.empty();
     }
-
 }
\ No newline at end of file
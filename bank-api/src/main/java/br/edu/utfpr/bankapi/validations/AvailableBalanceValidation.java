@@ -1,21 +1,36 @@
 package br.edu.utfpr.bankapi.validations;
 
+import java.util.Optional;
+
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
-import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
-import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.Account;
 
 /**
  * Validar se existe saldo em conta disponível
  */
 @Component
-public class AvailableBalanceValidation {
+@Order(40)
+public class AvailableBalanceValidation implements TransactionValidator {
+
+    @Override
+    public Optional<Rejection> validate(ValidationContext context) {
+        var source = context.source();
+        if (source == null)
+            return Optional.empty();
+
+        return check(source, context.amount());
+    }
+
+    /**
+     * Verifica o saldo sem lançar exceção
+     */
+    public Optional<Rejection> check(Account source, long amount) {
+        if (source.getBalanceWithLimit() < amount)
+            return Optional.of(Rejection.withoutBalance(source.getNumber()));
 
-    public void validate(Transaction transaction) {
-        // Verifica se a conta de origem possui saldo
-        if (transaction.getSourceAccount().getBalanceWithLimit() < transaction.getAmount()) {
-            throw new WithoutBalanceException();
-        }
+        return Optional.empty();
     }
 
 }
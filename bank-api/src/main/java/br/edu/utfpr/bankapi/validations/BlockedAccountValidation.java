@@ -0,0 +1,27 @@
+package br.edu.utfpr.bankapi.validations;
+
+import java.util.Optional;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validar se nenhuma das contas envolvidas está bloqueada
+ */
+@Component
+@Order(30)
+public class BlockedAccountValidation implements TransactionValidator {
+
+    @Override
+    public Optional<Rejection> validate(ValidationContext context) {
+        var source = context.source();
+        if (source != null && source.isBlocked())
+            return Optional.of(Rejection.accountBlocked(source.getNumber()));
+
+        var receiver = context.receiver();
+        if (receiver != null && receiver.isBlocked())
+            return Optional.of(Rejection.accountBlocked(receiver.getNumber()));
+
+        return Optional.empty();
+    }
+}
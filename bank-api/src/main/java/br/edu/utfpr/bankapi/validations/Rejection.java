@@ -0,0 +1,69 @@
+package br.edu.utfpr.bankapi.validations;
+
+import br.edu.utfpr.bankapi.exception.InvalidTransactionException;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+
+/**
+ * Resultado negativo de uma validação. É só um valor: quem devolve a rejeição
+ * a quem chamou ({@link TransactionValidationChain} ou
+ * {@link TransactionPreValidation}) é quem a conta na métrica do motivo.
+ */
+public record Rejection(RejectionReason reason, long accountNumber) {
+
+    public static Rejection sameAccount(long number) {
+        return new Rejection(RejectionReason.SAME_ACCOUNT, number);
+    }
+
+    public static Rejection accountBlocked(long number) {
+        return new Rejection(RejectionReason.ACCOUNT_BLOCKED, number);
+    }
+
+    public static Rejection accountNotFound(long number) {
+        return new Rejection(RejectionReason.ACCOUNT_NOT_FOUND, number);
+    }
+
+    public static Rejection withoutBalance(long number) {
+        return new Rejection(RejectionReason.WITHOUT_BALANCE, number);
+    }
+
+    public static Rejection spendingLimit(long number) {
+        return new Rejection(RejectionReason.SPENDING_LIMIT, number);
+    }
+
+    /**
+     * Mesma mensagem da exceção equivalente
+     */
+    public String message() {
+        return switch (reason) {
+            case SAME_ACCOUNT -> "Conta de origem e destino iguais";
+            case ACCOUNT_NOT_FOUND -> NotFoundException.accountMessage(accountNumber);
+            case ACCOUNT_BLOCKED -> "Conta " + accountNumber + " bloqueada";
+            case WITHOUT_BALANCE -> WithoutBalanceException.INSTANCE.getMessage();
+            case SPENDING_LIMIT -> "Limite de gastos da conta " + accountNumber + " excedido";
+        };
+    }
+
+    /**
+     * Exceção equivalente: {@link NotFoundException}, {@link WithoutBalanceException}
+     * ou {@link InvalidTransactionException}
+     */
+    public Exception toException() {
+        return switch (reason) {
+            case ACCOUNT_NOT_FOUND -> NotFoundException.account(accountNumber);
+            case WITHOUT_BALANCE -> WithoutBalanceException.INSTANCE;
+            default -> new InvalidTransactionException(message());
+        };
+    }
+
+    /**
+     * Lança a exceção equivalente
+     */
+    public void raise() throws NotFoundException {
+        var exception = toException();
+        if (exception instanceof NotFoundException notFound)
+            throw notFound;
+
+        throw (RuntimeException) exception;
+    }
+}
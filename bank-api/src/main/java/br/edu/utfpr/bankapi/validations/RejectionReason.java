@@ -0,0 +1,47 @@
+package br.edu.utfpr.bankapi.validations;
+
+import br.edu.utfpr.bankapi.exception.InvalidTransactionException;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Motivos de rejeição de uma transação pelas validações.
+ *
+ * Cada motivo conta as rejeições em bankapi.validation.rejections, com as tags
+ * "validation", "cause" (classe da exceção equivalente) e "stage": "pre" para
+ * as recusas da validação prévia, "final" para as da cadeia de validações
+ * dentro da transação. Cada requisição recusada é contada uma única vez, na
+ * etapa que a recusou. Os contadores ficam
+ * no registro global do Micrometer, ao qual o Spring Boot adiciona o registro
+ * da aplicação; fora do Spring (testes unitários) eles apenas não são
+ * exportados.
+ */
+public enum RejectionReason {
+    SAME_ACCOUNT("same-account", InvalidTransactionException.class),
+    ACCOUNT_NOT_FOUND("account", NotFoundException.class),
+    ACCOUNT_BLOCKED("blocked", InvalidTransactionException.class),
+    WITHOUT_BALANCE("balance", WithoutBalanceException.class),
+    SPENDING_LIMIT("spending-limit", InvalidTransactionException.class);
+
+    public static final String COUNTER = "bankapi.validation.rejections";
+
+    private final Counter preRejections;
+    private final Counter finalRejections;
+
+    RejectionReason(String validation, Class<? extends Exception> cause) {
+        this.preRejections = Metrics.counter(COUNTER, "validation", validation, "cause", cause.getSimpleName(),
+                "stage", "pre");
+        this.finalRejections = Metrics.counter(COUNTER, "validation", validation, "cause", cause.getSimpleName(),
+                "stage", "final");
+    }
+
+    void countPre() {
+        preRejections.increment();
+    }
+
+    void countFinal() {
+        finalRejections.increment();
+    }
+}
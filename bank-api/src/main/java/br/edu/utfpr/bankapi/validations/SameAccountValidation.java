@@ -0,0 +1,25 @@
+package br.edu.utfpr.bankapi.validations;
+
+import java.util.Optional;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Validar se a transferência não é para a própria conta
+ */
+@Component
+@Order(10)
+public class SameAccountValidation implements TransactionValidator {
+
+    @Override
+    public Optional<Rejection> validate(ValidationContext context) {
+        if (context.type() == TransactionType.TRANSFER
+                && context.sourceAccountNumber() == context.receiverAccountNumber())
+            return Optional.of(Rejection.sameAccount(context.sourceAccountNumber()));
+
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,215 @@
+package br.edu.utfpr.bankapi.validations;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+
+/**
+ * Limites de gastos (saques e transferências) por conta: por transação, na
+ * última hora (janela deslizante) e no dia. Valores em centavos; 0 desabilita
+ * o limite.
+ *
+ * Os gastos de cada conta ficam em memória ({@link SpendingWindows}), então a
+ * validação não consulta o banco. Na inicialização eles são reconstruídos a
+ * partir de tb_transaction; depois, cada débito é registrado com
+ * {@link #record} na transação que o grava, e cada estorno como um valor
+ * negativo. A reconstrução segue as mesmas regras: os débitos de
+ * transferências entre shards recusadas são descontados no momento do
+ * estorno.
+ */
+@Component
+@Order(50)
+public class SpendingLimitValidation implements TransactionValidator, SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(SpendingLimitValidation.class);
+
+    private final SpendingWindows windows = new SpendingWindows();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${bankapi.spending-limit.per-transaction:0}")
+    private long perTransaction;
+
+    @Value("${bankapi.spending-limit.per-hour:0}")
+    private long perHour;
+
+    @Value("${bankapi.spending-limit.per-day:0}")
+    private long perDay;
+
+    @Override
+    public Optional<Rejection> validate(ValidationContext context) {
+        var source = context.source();
+        if (source == null)
+            return Optional.empty();
+
+        return check(source.getNumber(), context.amount());
+    }
+
+    /**
+     * Verifica apenas o limite por transação, que depende só do valor
+     */
+    public Optional<Rejection> checkPerTransaction(long accountNumber, long amount) {
+        if (perTransaction > 0 && amount > perTransaction)
+            return Optional.of(Rejection.spendingLimit(accountNumber));
+
+        return Optional.empty();
+    }
+
+    /**
+     * Verifica os limites da conta para um débito de {@code amount}, contando
+     * também os débitos ainda não confirmados da transação corrente
+     */
+    public Optional<Rejection> check(long accountNumber, long amount) {
+        var rejection = checkPerTransaction(accountNumber, amount);
+        if (rejection.isPresent() || (perHour <= 0 && perDay <= 0))
+            return rejection;
+
+        var pending = pending(false);
+        long spent = amount + (pending == null ? 0 : pending.amounts.getOrDefault(accountNumber, 0L));
+
+        if (perHour > 0 && windows.lastHour(accountNumber, currentMinute()) + spent > perHour)
+            return Optional.of(Rejection.spendingLimit(accountNumber));
+        if (perDay > 0 && windows.day(accountNumber, today()) + spent > perDay)
+            return Optional.of(Rejection.spendingLimit(accountNumber));
+
+        return Optional.empty();
+    }
+
+    /**
+     * Registra o débito. Dentro de uma transação, ele passa a contar no
+     * commit (ainda com a conta bloqueada) e é desfeito se o commit falhar.
+     */
+    public void record(long accountNumber, long amount) {
+        if (perHour <= 0 && perDay <= 0)
+            return;
+
+        var pending = pending(true);
+        if (pending == null)
+            windows.add(accountNumber, amount, currentMinute(), today());
+        else
+            pending.amounts.merge(accountNumber, amount, Long::sum);
+    }
+
+    /**
+     * Reconstrói os gastos do dia e da última hora a partir dos débitos já
+     * gravados, em cada shard
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (perHour <= 0 && perDay <= 0)
+            return;
+
+        // O que começar antes: o dia ou a última hora
+        var now = LocalDateTime.now();
+        var startOfDay = now.toLocalDate().atStartOfDay();
+        var lastHour = now.minusMinutes(SpendingWindows.MINUTES);
+        var since = startOfDay.isBefore(lastHour) ? startOfDay : lastHour;
+
+        var debits = shardRouter.onEach(() -> {
+            long[] count = { 0 };
+            jdbcTemplate.query("""
+                    select a.number, t.amount, t.date_time
+                    from tb_transaction t join tb_account a on a.id = t.source_account_id
+                    where t.date_time >= ?""",
+                    rs -> {
+                        var dateTime = rs.getTimestamp(3).toLocalDateTime();
+                        windows.add(rs.getLong(1), rs.getLong(2), minuteOf(dateTime),
+                                dateTime.toLocalDate().toEpochDay());
+                        count[0]++;
+                    },
+                    Timestamp.valueOf(since));
+
+            // Estornos de transferências entre shards recusadas no destino
+            jdbcTemplate.query("""
+                    select o.source_account_number, o.amount, o.processed_at
+                    from tb_transfer_outbox o
+                    where o.status = 'REJECTED' and o.processed_at >= ?""",
+                    rs -> {
+                        var dateTime = rs.getTimestamp(3).toLocalDateTime();
+                        windows.add(rs.getLong(1), Math.negateExact(rs.getLong(2)), minuteOf(dateTime),
+                                dateTime.toLocalDate().toEpochDay());
+                    },
+                    Timestamp.valueOf(since));
+            return count[0];
+        }).stream().mapToLong(Long::longValue).sum();
+
+        log.info("Limites de gastos: {} débitos desde {} reconstruídos", debits, since);
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60_000;
+    }
+
+    private static long minuteOf(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond() / 60;
+    }
+
+    private static long today() {
+        return LocalDate.now().toEpochDay();
+    }
+
+    /**
+     * Débitos da transação corrente ainda não registrados, ou null fora de
+     * transação. Com {@code create}, cria e registra no commit.
+     */
+    private Pending pending(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return null;
+
+        for (var synchronization : TransactionSynchronizationManager.getSynchronizations())
+            if (synchronization instanceof Pending pending && pending.owner() == this)
+                return pending;
+
+        if (!create)
+            return null;
+
+        var pending = new Pending();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private class Pending implements TransactionSynchronization {
+        final Map<Long, Long> amounts = new HashMap<>();
+        long minute;
+        long day;
+        boolean applied;
+
+        SpendingLimitValidation owner() {
+            return SpendingLimitValidation.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            minute = currentMinute();
+            day = today();
+            amounts.forEach((number, amount) -> windows.add(number, amount, minute, day));
+            applied = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (applied && status != STATUS_COMMITTED)
+                amounts.forEach((number, amount) -> windows.add(number, -amount, minute, day));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package br.edu.utfpr.bankapi.validations;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Gastos recentes de cada conta, em memória: buckets de um minuto da última
+ * hora (janela deslizante) e o total do dia.
+ *
+ * Cada conta tem um {@link Window} imutável, trocado por compare-and-set;
+ * contas diferentes não disputam nada além da entrada no mapa (striped). Uma
+ * conta sem gastos há mais de um dia não tem mais o que contar e sai do mapa.
+ *
+ * Os tempos são em minutos e dias desde a época, informados por quem chama.
+ */
+class SpendingWindows {
+    static final int MINUTES = 60;
+
+    private final Cache<Long, AtomicReference<Window>> windows = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofDays(1).plusMinutes(1))
+            .build();
+
+    /**
+     * Soma {@code amount} (negativo para desfazer) ao minuto {@code minute} e
+     * ao dia {@code day}
+     */
+    void add(long accountNumber, long amount, long minute, long day) {
+        windows.get(accountNumber, number -> new AtomicReference<>(Window.EMPTY))
+                .updateAndGet(window -> window.add(amount, minute, day));
+    }
+
+    /**
+     * Gasto nos últimos {@link #MINUTES} minutos, até {@code now} inclusive
+     */
+    long lastHour(long accountNumber, long now) {
+        var window = windows.getIfPresent(accountNumber);
+        return window == null ? 0 : window.get().lastHour(now);
+    }
+
+    long day(long accountNumber, long day) {
+        var window = windows.getIfPresent(accountNumber);
+        return window == null ? 0 : window.get().day(day);
+    }
+
+    private static final class Window {
+        // Sem gastos: minuto bem anterior a qualquer janela, sem risco de overflow nas contas
+        static final Window EMPTY = new Window(Long.MIN_VALUE / 2, new long[MINUTES], Long.MIN_VALUE, 0);
+
+        // Minuto mais recente com bucket válido; buckets[m % MINUTES] guarda o minuto m
+        final long minute;
+        final long[] buckets;
+        final long day;
+        final long dayTotal;
+
+        Window(long minute, long[] buckets, long day, long dayTotal) {
+            this.minute = minute;
+            this.buckets = buckets;
+            this.day = day;
+            this.dayTotal = dayTotal;
+        }
+
+        long lastHour(long now) {
+            long sum = 0;
+            for (long m = Math.max(now - MINUTES + 1, minute - MINUTES + 1); m <= Math.min(now, minute); m++)
+                sum += buckets[Math.floorMod(m, MINUTES)];
+            return sum;
+        }
+
+        long day(long today) {
+            return day == today ? dayTotal : 0;
+        }
+
+        Window add(long amount, long at, long atDay) {
+            var latest = Math.max(minute, at);
+            var next = new long[MINUTES];
+            // Mantém apenas os buckets ainda dentro da janela que termina em latest
+            for (long m = Math.max(latest - MINUTES + 1, minute - MINUTES + 1); m <= minute; m++)
+                next[Math.floorMod(m, MINUTES)] = buckets[Math.floorMod(m, MINUTES)];
+            if (at > latest - MINUTES)
+                next[Math.floorMod(at, MINUTES)] += amount;
+
+            if (atDay == day)
+                return new Window(latest, next, day, dayTotal + amount);
+            if (atDay > day)
+                return new Window(latest, next, atDay, amount);
+            return new Window(latest, next, day, dayTotal); // Dia que já passou
+        }
+    }
+}
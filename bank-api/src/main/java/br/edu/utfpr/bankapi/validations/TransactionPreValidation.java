@@ -0,0 +1,51 @@
+package br.edu.utfpr.bankapi.validations;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+
+/**
+ * Validação prévia, feita antes de abrir transação ou conexão com o banco.
+ *
+ * Só recusa pelo que não depende do estado das contas: transferência para a
+ * própria conta e limite de gastos por transação. Existência, bloqueio e
+ * saldo mudam a qualquer momento (e o cache de contas pode estar
+ * desatualizado), então ficam para a cadeia de validações dentro da
+ * transação, com as contas bloqueadas.
+ */
+@Component
+public class TransactionPreValidation {
+
+    @Autowired
+    private SameAccountValidation sameAccountValidation;
+
+    @Autowired
+    private SpendingLimitValidation spendingLimitValidation;
+
+    public Optional<Rejection> transfer(TransferDTO dto) {
+        return validate(ValidationContext.of(dto, Map.of()));
+    }
+
+    public Optional<Rejection> deposit(DepositDTO dto) {
+        return validate(ValidationContext.of(dto, Map.of()));
+    }
+
+    public Optional<Rejection> withdraw(WithdrawDTO dto) {
+        return validate(ValidationContext.of(dto, Map.of()));
+    }
+
+    private Optional<Rejection> validate(ValidationContext context) {
+        var rejection = sameAccountValidation.validate(context);
+        if (rejection.isEmpty() && context.hasSource())
+            rejection = spendingLimitValidation.checkPerTransaction(context.sourceAccountNumber(), context.amount());
+
+        rejection.ifPresent(r -> r.reason().countPre());
+        return rejection;
+    }
+}
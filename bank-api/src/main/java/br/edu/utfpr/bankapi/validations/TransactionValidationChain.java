@@ -0,0 +1,101 @@
+package br.edu.utfpr.bankapi.validations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+
+/**
+ * Executa os {@link TransactionValidator}s registrados, em ordem, sobre um
+ * único {@link ValidationContext}.
+ *
+ * As contas de uma transação são carregadas uma única vez, em uma consulta;
+ * acrescentar uma regra não acrescenta idas ao banco.
+ */
+@Component
+public class TransactionValidationChain {
+
+    @Autowired
+    private List<TransactionValidator> validators; // Ordenados por @Order
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    /**
+     * Busca e bloqueia as contas em uma única consulta. As linhas são
+     * bloqueadas em ordem crescente de número, evitando deadlock entre
+     * transferências em sentidos opostos (A→B e B→A).
+     */
+    public Map<Long, Account> lockAccounts(long... numbers) {
+        var sorted = new TreeSet<Long>();
+        for (var number : numbers)
+            sorted.add(number);
+
+        var accounts = new HashMap<Long, Account>();
+        accountRepository.lockAllByNumberIn(sorted).forEach(a -> accounts.put(a.getNumber(), a));
+        return accounts;
+    }
+
+    /**
+     * Busca a conta, sem bloqueio
+     */
+    public Map<Long, Account> loadAccount(long number) {
+        var accounts = new HashMap<Long, Account>();
+        accountRepository.getByNumber(number).ifPresent(a -> accounts.put(number, a));
+        return accounts;
+    }
+
+    /**
+     * Acrescenta às {@code accounts} as contas que estão em outros shards,
+     * lidas sem bloqueio em uma transação própria em cada shard. Servem só
+     * para validar o destino de transferências entre shards: o crédito é
+     * validado de novo no shard de destino.
+     */
+    public void loadRemoteAccounts(Map<Long, Account> accounts, Collection<Long> numbers) {
+        var byShard = new HashMap<Integer, List<Long>>();
+        for (var number : numbers)
+            byShard.computeIfAbsent(shardRouter.shardOf(number), shard -> new ArrayList<>()).add(number);
+
+        byShard.forEach((shard, shardNumbers) -> shardRouter
+                .on(shard, () -> accountRepository.findAllByNumberIn(shardNumbers))
+                .forEach(a -> accounts.put(a.getNumber(), a)));
+    }
+
+    /**
+     * Primeira rejeição dos validadores, já contada na métrica do motivo
+     */
+    public Optional<Rejection> validate(ValidationContext context) {
+        for (var validator : validators) {
+            var rejection = validator.validate(context);
+            if (rejection.isPresent()) {
+                rejection.get().reason().countFinal();
+                return rejection;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Valida e lança a exceção equivalente à primeira rejeição
+     */
+    public void check(ValidationContext context) throws NotFoundException {
+        var rejection = validate(context);
+        if (rejection.isPresent())
+            rejection.get().raise();
+    }
+}
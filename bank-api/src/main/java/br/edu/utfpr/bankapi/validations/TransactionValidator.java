@@ -0,0 +1,17 @@
+package br.edu.utfpr.bankapi.validations;
+
+import java.util.Optional;
+
+/**
+ * Regra de validação de uma transação.
+ *
+ * As implementações são componentes Spring, executados em ordem de
+ * {@link org.springframework.core.annotation.Order @Order} pelo
+ * {@link TransactionValidationChain}: regras baratas primeiro, e a primeira
+ * rejeição interrompe a cadeia. Nenhuma regra acessa o banco; as contas
+ * envolvidas já vêm carregadas no {@link ValidationContext}.
+ */
+public interface TransactionValidator {
+
+    Optional<Rejection> validate(ValidationContext context);
+}
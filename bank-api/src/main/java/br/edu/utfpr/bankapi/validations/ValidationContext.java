@@ -0,0 +1,58 @@
+package br.edu.utfpr.bankapi.validations;
+
+import java.util.Map;
+
+import br.edu.utfpr.bankapi.dto.BatchItemDTO;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Dados de uma transação a validar, com as contas envolvidas já carregadas
+ * (por número). Uma conta ausente do mapa é uma conta inexistente.
+ */
+public record ValidationContext(TransactionType type, long sourceAccountNumber, long receiverAccountNumber,
+        long amount, Map<Long, Account> accounts) {
+
+    public static ValidationContext of(TransferDTO dto, Map<Long, Account> accounts) {
+        return new ValidationContext(TransactionType.TRANSFER, dto.sourceAccountNumber(), dto.receiverAccountNumber(),
+                dto.amount(), accounts);
+    }
+
+    public static ValidationContext of(DepositDTO dto, Map<Long, Account> accounts) {
+        return new ValidationContext(TransactionType.DEPOSIT, 0, dto.receiverAccountNumber(), dto.amount(), accounts);
+    }
+
+    public static ValidationContext of(WithdrawDTO dto, Map<Long, Account> accounts) {
+        return new ValidationContext(TransactionType.WITHDRAW, dto.sourceAccountNumber(), 0, dto.amount(), accounts);
+    }
+
+    public static ValidationContext of(BatchItemDTO item, Map<Long, Account> accounts) {
+        return new ValidationContext(item.type(), item.sourceAccountNumber(), item.receiverAccountNumber(),
+                item.amount(), accounts);
+    }
+
+    public boolean hasSource() {
+        return type != TransactionType.DEPOSIT && type != TransactionType.INTEREST;
+    }
+
+    public boolean hasReceiver() {
+        return type != TransactionType.WITHDRAW;
+    }
+
+    /**
+     * Conta de origem, ou null se não houver (ou não existir)
+     */
+    public Account source() {
+        return hasSource() ? accounts.get(sourceAccountNumber) : null;
+    }
+
+    /**
+     * Conta de destino, ou null se não houver (ou não existir)
+     */
+    public Account receiver() {
+        return hasReceiver() ? accounts.get(receiverAccountNumber) : null;
+    }
+}
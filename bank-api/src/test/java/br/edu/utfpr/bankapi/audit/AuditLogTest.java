@@ -0,0 +1,34 @@
+package br.edu.utfpr.bankapi.audit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AuditLogTest {
+
+    @Test
+    void deveriaDescartarEventosQuandoBufferEstiverCheio() {
+        // ARRANGE (sem iniciar a thread de escrita, o buffer não é drenado)
+        var auditLog = new AuditLog(2, 1.0);
+        var event = new AuditEvent("DEPOSIT", 1, null, 10L, 500L);
+
+        // ACT
+        for (int i = 0; i < 5; i++)
+            auditLog.on(event);
+
+        // ASSERT
+        Assertions.assertEquals(3, auditLog.dropped());
+    }
+
+    @Test
+    void deveriaGerarJsonApenasComIdsEValores() {
+        // ARRANGE
+        var event = new AuditEvent("TRANSFER", 7, 1L, 2L, 1050L);
+
+        // ACT
+        var json = event.toJson();
+
+        // ASSERT
+        Assertions.assertEquals(
+                "{\"event\":\"TRANSFER\",\"id\":7,\"sourceAccountId\":1,\"receiverAccountId\":2,\"amount\":1050}", json);
+    }
+}
@@ -1,9 +1,13 @@
 package br.edu.utfpr.bankapi.controller;
 
 import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.service.AccountService;
+import br.edu.utfpr.bankapi.service.InterestAccrualService;
+import br.edu.utfpr.bankapi.service.StatementService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.BDDMockito;
@@ -16,6 +20,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,9 +35,15 @@ public class AccountControllerTest {
     @MockBean
     private AccountService accountService;
 
+    @MockBean
+    private InterestAccrualService interestAccrualService;
+
+    @MockBean
+    private StatementService statementService;
+
     @Test
     void getByNumberShouldReturnAccount() throws Exception {
-        Account account = new Account("Armarildo Mansur", 12345, 1000, 0);
+        Account account = new Account("Armarildo Mansur", 12345, 100000, 0);
         BDDMockito.given(accountService.getByNumber(12345L)).willReturn(Optional.of(account));
 
         mockMvc.perform(get("/account/12345"))
@@ -45,8 +56,8 @@ public class AccountControllerTest {
     @Test
     void getAllShouldReturnListOfAccounts() throws Exception {
         List<Account> accounts = List.of(
-                new Account("Armarildo Mansur", 12345, 1000, 0),
-                new Account("Creuza Beleuza", 67890, 2000, 0)
+                new Account("Armarildo Mansur", 12345, 100000, 0),
+                new Account("Creuza Beleuza", 67890, 200000, 0)
         );
         BDDMockito.given(accountService.getAll()).willReturn(accounts);
 
@@ -59,8 +70,8 @@ public class AccountControllerTest {
 
     @Test
     void saveShouldCreateAccount() throws Exception {
-        AccountDTO accountDTO = new AccountDTO("Armarildo Mansur", 12345L, 1000, 0);
-        Account account = new Account("Armarildo Mansur", 12345, 1000, 0);
+        AccountDTO accountDTO = new AccountDTO("Armarildo Mansur", 12345L, 100000, 0);
+        Account account = new Account("Armarildo Mansur", 12345, 100000, 0);
         BDDMockito.given(accountService.save(accountDTO)).willReturn(account);
 
         ObjectMapper objectMapper = new ObjectMapper();
@@ -77,8 +88,8 @@ public class AccountControllerTest {
 
     @Test
     void updateShouldUpdateAccount() throws Exception {
-        AccountDTO accountDTO = new AccountDTO("Armarildo Mansur", 12345L, 1500, 0);
-        Account account = new Account("Armarildo Mansur", 12345, 1500, 0);
+        AccountDTO accountDTO = new AccountDTO("Armarildo Mansur", 12345L, 150000, 0);
+        Account account = new Account("Armarildo Mansur", 12345, 150000, 0);
         BDDMockito.given(accountService.update(1L, accountDTO)).willReturn(account);
 
         ObjectMapper objectMapper = new ObjectMapper();
@@ -92,4 +103,80 @@ public class AccountControllerTest {
                 .andExpect(jsonPath("$.number").value(12345))
                 .andExpect(jsonPath("$.balance").value(1500));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPageShouldReturnNextCursorWhenPageIsFull() throws Exception {
+        List<Account> accounts = List.of(
+                new Account("Armarildo Mansur", 12345, 100000, 0),
+                new Account("Creuza Beleuza", 67890, 200000, 0)
+        );
+        BDDMockito.given(accountService.getPage(100L, 2)).willReturn(accounts);
+
+        mockMvc.perform(get("/account/page").param("after", "100").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(67890));
+    }
+
+    @Test
+    void getPageShouldReturnNullCursorOnLastPage() throws Exception {
+        BDDMockito.given(accountService.getPage(Long.MIN_VALUE, 100))
+                .willReturn(List.of(new Account("Armarildo Mansur", 12345, 100000, 0)));
+
+        mockMvc.perform(get("/account/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getPageShouldStartBeforeNonPositiveNumbersWithoutCursor() throws Exception {
+        BDDMockito.given(accountService.getPage(Long.MIN_VALUE, 2)).willReturn(List.of(
+                new Account("Conta Negativa", -5, 0, 0),
+                new Account("Conta Zero", 0, 0, 0)));
+
+        mockMvc.perform(get("/account/page").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts[0].number").value(-5))
+                .andExpect(jsonPath("$.nextCursor").value(0));
+    }
+
+    @Test
+    void getPageShouldRejectInvalidSize() throws Exception {
+        mockMvc.perform(get("/account/page").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamShouldReturnOneAccountPerLine() throws Exception {
+        BDDMockito.willAnswer(invocation -> {
+            Consumer<Account> consumer = invocation.getArgument(0);
+            consumer.accept(new Account("Armarildo Mansur", 12345, 100000, 0));
+            consumer.accept(new Account("Creuza Beleuza", 67890, 200000, 0));
+            return null;
+        }).given(accountService).streamAll(BDDMockito.any(Consumer.class));
+
+        var result = mockMvc.perform(get("/account/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = body.split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertTrue(lines[1].contains("Creuza Beleuza"));
+    }
+
+    @Test
+    void statementShouldReturn404ForUnknownAccount() throws Exception {
+        BDDMockito.given(statementService.getStatement(99999L, null, null, null, 50))
+                .willThrow(new NotFoundException("Conta 99999 inexistente"));
+
+        mockMvc.perform(get("/account/99999/transactions"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,104 @@
+package br.edu.utfpr.bankapi.controller;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureTestEntityManager;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import br.edu.utfpr.bankapi.model.Account;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestEntityManager
+@Transactional
+public class BatchControllerTest {
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void deveriaRetornar400ParaLoteVazio() throws Exception {
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders
+                        .post("/transaction/batch").content("{\"items\": []}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, res.getStatus());
+    }
+
+    @Test
+    void deveriaProcessarItensDoLoteEmOrdem() throws Exception {
+        // ARRANGE
+        var origem = new Account("Felizberto", 111111, 0, 0);
+        var destino = new Account("Creuza", 222222, 0, 0);
+        entityManager.persist(origem);
+        entityManager.persist(destino);
+
+        var json = """
+                    {
+                        "items": [
+                            { "type": "DEPOSIT", "receiverAccountNumber": 111111, "amount": 300.00 },
+                            { "type": "TRANSFER", "sourceAccountNumber": 111111, "receiverAccountNumber": 222222, "amount": 100 },
+                            { "type": "WITHDRAW", "sourceAccountNumber": 222222, "amount": 500 },
+                            { "type": "DEPOSIT", "receiverAccountNumber": 999999, "amount": 10 }
+                        ]
+                    }
+                """;
+
+        // ACT + ASSERT
+        mvc.perform(
+                MockMvcRequestBuilders.post("/transaction/batch")
+                        .content(json)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", Matchers.equalTo(4)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].success", Matchers.equalTo(true)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].success", Matchers.equalTo(true)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].success", Matchers.equalTo(false)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].success", Matchers.equalTo(false)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].message",
+                        Matchers.equalTo("Conta 999999 inexistente")));
+
+        Assertions.assertEquals(20000, origem.getBalance());
+        Assertions.assertEquals(10000, destino.getBalance());
+    }
+
+    @Test
+    void deveriaRetornar400QuandoOLoteEstouraOSaldo() throws Exception {
+        // ARRANGE
+        entityManager.persist(new Account("Felizberto", 111111, Long.MAX_VALUE - 100, 0));
+
+        var json = """
+                    {
+                        "items": [
+                            { "type": "DEPOSIT", "receiverAccountNumber": 111111, "amount": 2.00 }
+                        ]
+                    }
+                """;
+
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders.post("/transaction/batch")
+                        .content(json)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, res.getStatus());
+        Assertions.assertEquals("Valor excede o limite suportado pela conta", res.getContentAsString());
+    }
+}
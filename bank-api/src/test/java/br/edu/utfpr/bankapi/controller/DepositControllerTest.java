@@ -13,7 +13,14 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import com.jayway.jsonpath.JsonPath;
+
+import br.edu.utfpr.bankapi.exception.NotFoundException;
 import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.service.IdempotencyService;
+import br.edu.utfpr.bankapi.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 
@@ -28,6 +35,9 @@ public class DepositControllerTest {
     @Autowired
     EntityManager entityManager;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Test
     void deveriaRetornar400ParaRequisicaoInvalida() throws Exception {
         // ARRANGE
@@ -92,12 +102,221 @@ public class DepositControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(MockMvcResultMatchers.status().isCreated())
                 .andDo(MockMvcResultHandlers.log())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.receiverAccount.number",
+                .andExpect(MockMvcResultMatchers.jsonPath("$.receiverAccountNumber",
                         Matchers.equalTo(987654321)))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.receiverAccount.balance",
-                        Matchers.equalTo(account.getBalance())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.receiverAccountId",
+                        Matchers.equalTo((int) account.getId())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.receiverAccount").doesNotExist())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.amount", Matchers.equalTo(200.0)))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.type", Matchers.equalTo("DEPOSIT")));
     }
 
+    @Test
+    void deveriaConsultarDepositoPorId() throws Exception {
+        // ARRANGE
+        Account account = new Account("Felizberto",
+                987654321, 0, 1000);
+
+        entityManager.persist(account); // Salvando a conta
+
+        var json = """
+                    {
+                        "receiverAccountNumber": 987654321,
+                        "amount": 200
+                    }
+                """;
+
+        var res = mvc.perform(
+                MockMvcRequestBuilders
+                        .post("/transaction/deposit").content(json)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+        var id = JsonPath.<Integer>read(res.getContentAsString(), "$.id");
+
+        // ACT + ASSERT
+        mvc.perform(MockMvcRequestBuilders.get("/transaction/" + id))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id", Matchers.equalTo(id)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.receiverAccountNumber", Matchers.equalTo(987654321)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.sourceAccountNumber").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.amount", Matchers.equalTo(200.0)));
+    }
+
+    @Test
+    void deveriaRetornar400ParaValorComFracaoDeCentavo() throws Exception {
+        // ARRANGE
+        var json = """
+                    {
+                        "receiverAccountNumber": 987654321,
+                        "amount": 10.005
+                    }
+                """;
+
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders
+                        .post("/transaction/deposit").content(json)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, res.getStatus());
+    }
+
+    @Test
+    void deveriaRepetirRespostaParaMesmaChaveDeIdempotencia() throws Exception {
+        // ARRANGE
+        Account account = new Account("Felizberto",
+                987654321, 0, 1000);
+
+        entityManager.persist(account); // Salvando a conta
+
+        var json = """
+                    {
+                        "receiverAccountNumber": 987654321,
+                        "amount": 200
+                    }
+                """;
+
+        var first = mvc.perform(
+                MockMvcRequestBuilders
+                        .post("/transaction/deposit").content(json)
+                        .header(IdempotencyService.HEADER, "deposito-repetido")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ACT
+        var second = mvc.perform(
+                MockMvcRequestBuilders
+                        .post("/transaction/deposit").content(json)
+                        .header(IdempotencyService.HEADER, "deposito-repetido")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(201, first.getStatus());
+        Assertions.assertEquals(201, second.getStatus());
+        Assertions.assertNull(first.getHeader(IdempotencyService.REPLAYED_HEADER));
+        Assertions.assertEquals("true", second.getHeader(IdempotencyService.REPLAYED_HEADER));
+        Assertions.assertEquals(JsonPath.<Integer>read(first.getContentAsString(), "$.id"),
+                JsonPath.<Integer>read(second.getContentAsString(), "$.id"));
+
+        var transactions = entityManager
+                .createQuery("select count(t) from Transaction t where t.receiverAccount.id = :id", Long.class)
+                .setParameter("id", account.getId())
+                .getSingleResult();
+        Assertions.assertEquals(1, transactions); // O depósito foi executado uma única vez
+    }
+
+    @Test
+    void deveriaRetornar422ParaMesmaChaveComOutraRequisicao() throws Exception {
+        // ARRANGE
+        Account account = new Account("Felizberto",
+                987654321, 0, 1000);
+
+        entityManager.persist(account); // Salvando a conta
+
+        mvc.perform(
+                MockMvcRequestBuilders
+                        .post("/transaction/deposit").content("""
+                                {"receiverAccountNumber": 987654321, "amount": 200}
+                                """)
+                        .header(IdempotencyService.HEADER, "deposito-alterado")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders
+                        .post("/transaction/deposit").content("""
+                                {"receiverAccountNumber": 987654321, "amount": 300}
+                                """)
+                        .header(IdempotencyService.HEADER, "deposito-alterado")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(422, res.getStatus());
+    }
+
+    @Test
+    void deveriaRegistrarMetricasDoDeposito() throws Exception {
+        // ARRANGE
+        Account account = new Account("Felizberto",
+                987654321, 0, 1000);
+
+        entityManager.persist(account); // Salvando a conta
+
+        var timer = meterRegistry.find(TransactionService.TIMER).tag("operation", "deposit");
+        var before = timer.timers().stream().mapToLong(Timer::count).sum();
+        var rejections = meterRegistry.find("bankapi.validation.rejections")
+                .tag("cause", NotFoundException.class.getSimpleName()).tag("stage", "final");
+        var rejectedBefore = rejections.counter() == null ? 0 : rejections.counter().count();
+
+        // ACT
+        mvc.perform(MockMvcRequestBuilders.post("/transaction/deposit")
+                .content("""
+                        {"receiverAccountNumber": 987654321, "amount": 200}
+                        """)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        mvc.perform(MockMvcRequestBuilders.post("/transaction/deposit")
+                .content("""
+                        {"receiverAccountNumber": 123, "amount": 200}
+                        """)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        // ASSERT
+        // A conta inexistente só é recusada pela cadeia, dentro do serviço
+        Assertions.assertEquals(before + 2, timer.timers().stream().mapToLong(Timer::count).sum());
+        Assertions.assertEquals(rejectedBefore + 1, rejections.counter().count());
+    }
+
+    @Test
+    void deveriaRetornar400ParaValorAcimaDoLimite() throws Exception {
+        // ARRANGE
+        entityManager.persist(new Account("Felizberto", 987654321, 0, 1000));
+
+        var json = """
+                    {
+                        "receiverAccountNumber": 987654321,
+                        "amount": 92233720368547758.07
+                    }
+                """;
+
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders
+                        .post("/transaction/deposit").content(json)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, res.getStatus());
+    }
+
+    @Test
+    void deveriaRetornar400QuandoODepositoEstouraOSaldo() throws Exception {
+        // ARRANGE
+        entityManager.persist(new Account("Felizberto", 987654321, Long.MAX_VALUE - 100, 1000));
+
+        var json = """
+                    {
+                        "receiverAccountNumber": 987654321,
+                        "amount": 2.00
+                    }
+                """;
+
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders
+                        .post("/transaction/deposit").content(json)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, res.getStatus());
+        Assertions.assertEquals("Valor excede o limite suportado pela conta", res.getContentAsString());
+    }
 }
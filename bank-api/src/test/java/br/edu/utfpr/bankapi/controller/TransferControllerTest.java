@@ -1,7 +1,17 @@
 package br.edu.utfpr.bankapi.controller;
 
 import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.TransferRequestView;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.model.TransferRequestStatus;
+import br.edu.utfpr.bankapi.service.AsyncTransferService;
+import br.edu.utfpr.bankapi.service.DepositCoalescer;
+import br.edu.utfpr.bankapi.service.IdempotencyService;
 import br.edu.utfpr.bankapi.service.TransactionService;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+import br.edu.utfpr.bankapi.validations.TransactionPreValidation;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -15,6 +25,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +36,21 @@ public class TransferControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private DepositCoalescer depositCoalescer;
+
+    @MockBean
+    private TransactionPreValidation preValidation;
+
+    @MockBean
+    private AsyncTransferService asyncTransferService;
+
+    @MockBean
+    private ShardRouter shardRouter;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -47,14 +74,35 @@ public class TransferControllerTest {
         var objectMapper = new ObjectMapper();
         var json = objectMapper.writeValueAsString(transferDTO);
 
-        BDDMockito.given(transactionService.transfer(transferDTO)).willReturn(null); // Replace null with the correct return type
+        var transaction = new Transaction(new Account("John Smith", 12345, 0, 0),
+                new Account("Jane Doe", 67890, 0, 0), transferDTO.amount(), TransactionType.TRANSFER);
+        BDDMockito.given(transactionService.transfer(transferDTO)).willReturn(transaction);
 
         var res = mockMvc.perform(post("/transaction/transfer")
                         .content(json)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.sourceAccountNumber").value(12345))
+                .andExpect(jsonPath("$.receiverAccountNumber").value(67890))
+                .andExpect(jsonPath("$.sourceAccount").doesNotExist())
                 .andReturn().getResponse();
 
         Assertions.assertEquals(201, res.getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveriaRetornar202ParaTransferenciaAssincrona() throws Exception {
+        var transferDTO = new TransferDTO(12345, 67890, 1000);
+        var json = new ObjectMapper().writeValueAsString(transferDTO);
+
+        BDDMockito.given(asyncTransferService.submit(transferDTO, null)).willReturn(new TransferRequestView(7,
+                TransferRequestStatus.PENDING, 12345, 67890, 1000, null, null, null, null));
+
+        mockMvc.perform(post("/transaction/transfer/async")
+                        .content(json)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/transaction/async/7"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+}
@@ -1,7 +1,15 @@
 package br.edu.utfpr.bankapi.controller;
 
 import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.service.AsyncTransferService;
+import br.edu.utfpr.bankapi.service.DepositCoalescer;
+import br.edu.utfpr.bankapi.service.IdempotencyService;
 import br.edu.utfpr.bankapi.service.TransactionService;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+import br.edu.utfpr.bankapi.validations.TransactionPreValidation;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -24,6 +32,21 @@ public class WithdrawControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private DepositCoalescer depositCoalescer;
+
+    @MockBean
+    private TransactionPreValidation preValidation;
+
+    @MockBean
+    private AsyncTransferService asyncTransferService;
+
+    @MockBean
+    private ShardRouter shardRouter;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -47,7 +70,9 @@ public class WithdrawControllerTest {
         var objectMapper = new ObjectMapper();
         var json = objectMapper.writeValueAsString(withdrawDTO);
 
-        BDDMockito.given(transactionService.withdraw(withdrawDTO)).willReturn(null); // Replace null with the correct return type
+        var transaction = new Transaction(new Account("Jacinto Paulo", 12345, 0, 0), null,
+                withdrawDTO.amount(), TransactionType.WITHDRAW);
+        BDDMockito.given(transactionService.withdraw(withdrawDTO)).willReturn(transaction);
 
         var res = mockMvc.perform(post("/transaction/withdraw")
                         .content(json)
@@ -0,0 +1,189 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.edu.utfpr.bankapi.config.CacheConfig;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionIdGenerator;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+import br.edu.utfpr.bankapi.validations.BlockedAccountValidation;
+import br.edu.utfpr.bankapi.validations.SameAccountValidation;
+import br.edu.utfpr.bankapi.validations.SpendingLimitValidation;
+import br.edu.utfpr.bankapi.validations.TransactionValidationChain;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LedgerEngineTest {
+    @Mock
+    AccountRepository accountRepository;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    TransactionIdGenerator transactionIds;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    CacheManager cacheManager;
+
+    @Mock
+    Cache accountCache;
+
+    @Mock
+    SpendingLimitValidation spendingLimit;
+
+    @InjectMocks
+    LedgerEngine ledgerEngine; // Objeto a ser testado
+
+    @BeforeEach
+    void setUp() {
+        BDDMockito.given(cacheManager.getCache(CacheConfig.ACCOUNTS)).willReturn(accountCache);
+        var validationChain = new TransactionValidationChain();
+        ReflectionTestUtils.setField(validationChain, "validators", List.of(new SameAccountValidation(),
+                new AvailableAccountValidation(), new BlockedAccountValidation(), new AvailableBalanceValidation(),
+                spendingLimit));
+        ReflectionTestUtils.setField(ledgerEngine, "validationChain", validationChain);
+        ReflectionTestUtils.setField(ledgerEngine, "shardCount", 4);
+        ReflectionTestUtils.setField(ledgerEngine, "journalCapacity", 10_000);
+        ReflectionTestUtils.setField(ledgerEngine, "journalBatchSize", 100);
+        ledgerEngine.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ledgerEngine.stop();
+    }
+
+    private void givenAccount(long id, long number, long balance, long specialLimit) {
+        BDDMockito.given(accountRepository.getByNumber(number))
+                .willReturn(Optional.of(new Account(id, "Conta " + number, number, balance, specialLimit, false, 0)));
+    }
+
+    @Test
+    void deveriaTransferirEmMemoria() throws NotFoundException {
+        // ARRANGE
+        givenAccount(1, 12345, 2000, 0);
+        givenAccount(2, 67890, 500, 0);
+
+        // ACT
+        var transaction = ledgerEngine.transfer(new TransferDTO(12345, 67890, 1000));
+
+        // ASSERT
+        Assertions.assertEquals(TransactionType.TRANSFER, transaction.getType());
+        Assertions.assertEquals(1000, transaction.getSourceAccount().getBalance());
+        Assertions.assertEquals(1500, transaction.getReceiverAccount().getBalance());
+    }
+
+    @Test
+    void deveriaCarregarContaDoBancoApenasUmaVez() throws NotFoundException {
+        // ARRANGE
+        givenAccount(1, 12345, 0, 0);
+
+        // ACT
+        ledgerEngine.deposit(new DepositDTO(12345, 100));
+        var transaction = ledgerEngine.deposit(new DepositDTO(12345, 100));
+
+        // ASSERT
+        Assertions.assertEquals(200, transaction.getReceiverAccount().getBalance());
+        BDDMockito.then(accountRepository).should().getByNumber(12345);
+    }
+
+    @Test
+    void deveriaLancarWithoutBalanceExceptionQuandoSaldoInsuficiente() throws NotFoundException {
+        // ARRANGE
+        givenAccount(1, 12345, 500, 100);
+
+        // ACT + ASSERT
+        Assertions.assertThrows(WithoutBalanceException.class,
+                () -> ledgerEngine.withdraw(new WithdrawDTO(12345, 1000)));
+
+        // O saldo não pode ter sido alterado
+        var transaction = ledgerEngine.withdraw(new WithdrawDTO(12345, 600));
+        Assertions.assertEquals(-100, transaction.getSourceAccount().getBalance());
+    }
+
+    @Test
+    void deveriaLancarNotFoundExceptionSemDebitarOrigem() throws NotFoundException {
+        // ARRANGE
+        givenAccount(1, 12345, 1000, 0);
+        BDDMockito.given(accountRepository.getByNumber(99999)).willReturn(Optional.empty());
+
+        // ACT + ASSERT
+        Assertions.assertThrows(NotFoundException.class,
+                () -> ledgerEngine.transfer(new TransferDTO(12345, 99999, 100)));
+
+        var transaction = ledgerEngine.withdraw(new WithdrawDTO(12345, 0));
+        Assertions.assertEquals(1000, transaction.getSourceAccount().getBalance());
+    }
+
+    @Test
+    void deveriaConservarDinheiroEmTransferenciasConcorrentes() throws Exception {
+        // ARRANGE
+        int contas = 8;
+        for (int i = 0; i < contas; i++)
+            givenAccount(i + 1, 1000 + i, 1000, 0);
+
+        var executor = Executors.newFixedThreadPool(8);
+        var futures = new ArrayList<Future<?>>();
+
+        // ACT: transferências em sentidos opostos entre todas as contas
+        for (int i = 0; i < 4000; i++) {
+            long source = 1000 + (i % contas);
+            long receiver = 1000 + ((i * 7 + 3) % contas);
+            futures.add(executor.submit(() -> {
+                try {
+                    ledgerEngine.transfer(new TransferDTO(source, receiver, 10));
+                } catch (WithoutBalanceException ignored) {
+                    // Rejeição esperada quando a conta fica sem saldo
+                }
+                return null;
+            }));
+        }
+        for (var future : futures)
+            future.get();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // ASSERT
+        long total = 0;
+        for (int i = 0; i < contas; i++) {
+            var balance = ledgerEngine.deposit(new DepositDTO(1000 + i, 0)).getReceiverAccount().getBalance();
+            Assertions.assertTrue(balance >= 0);
+            total += balance;
+        }
+        Assertions.assertEquals(contas * 1000, total);
+    }
+}
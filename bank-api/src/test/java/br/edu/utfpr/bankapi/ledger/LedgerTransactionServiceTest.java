@@ -0,0 +1,181 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.jayway.jsonpath.JsonPath;
+
+import br.edu.utfpr.bankapi.audit.AuditEvent;
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.IdempotencyKeyRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.service.AccountService;
+import br.edu.utfpr.bankapi.service.IdempotencyService;
+import br.edu.utfpr.bankapi.service.TransactionService;
+
+/**
+ * Operações pela API com o ledger em memória ativo, gravadas no banco pelo
+ * journal
+ */
+@SpringBootTest(properties = "bankapi.ledger.enabled=true")
+@AutoConfigureMockMvc
+@RecordApplicationEvents
+public class LedgerTransactionServiceTest {
+    // As contas continuam em memória no ledger entre os testes: cada teste usa números novos
+    private static final AtomicLong numbers = new AtomicLong(71000);
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    LedgerEngine ledgerEngine;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    ApplicationEvents events;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        awaitJournal();
+        jdbcTemplate.update("delete from tb_idempotency_key");
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    private long newAccount(long balance) throws Exception {
+        var number = numbers.incrementAndGet();
+        accountService.save(new AccountDTO("Conta " + number, number, 0, 0));
+        if (balance > 0)
+            transactionService.deposit(new DepositDTO(number, balance));
+        return number;
+    }
+
+    private void awaitJournal() throws InterruptedException {
+        for (int i = 0; i < 100 && ledgerEngine.pendingEntries() > 0; i++)
+            Thread.sleep(50);
+        Thread.sleep(200); // Último lote drenado da fila, ainda sendo gravado
+    }
+
+    @Test
+    void deveriaConsultarATransacaoPeloIdDaResposta() throws Exception {
+        // ARRANGE
+        var source = newAccount(1000);
+        var receiver = newAccount(0);
+
+        // ACT
+        var created = mvc.perform(MockMvcRequestBuilders.post("/transaction/transfer")
+                .content("""
+                        { "sourceAccountNumber": %d, "receiverAccountNumber": %d, "amount": 3.00 }
+                        """.formatted(source, receiver))
+                .contentType(MediaType.APPLICATION_JSON)).andReturn().getResponse();
+        long id = ((Number) JsonPath.read(created.getContentAsString(), "$.id")).longValue();
+        awaitJournal();
+
+        var res = mvc.perform(MockMvcRequestBuilders.get("/transaction/" + id)).andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(201, created.getStatus());
+        Assertions.assertTrue(id > 0);
+        Assertions.assertEquals(200, res.getStatus());
+        Assertions.assertEquals(id, ((Number) JsonPath.read(res.getContentAsString(), "$.id")).longValue());
+        Assertions.assertEquals("TRANSFER", JsonPath.read(res.getContentAsString(), "$.type"));
+        Assertions.assertEquals(receiver,
+                ((Number) JsonPath.read(res.getContentAsString(), "$.receiverAccountNumber")).longValue());
+    }
+
+    @Test
+    void deveriaPublicarEventoDeAuditoriaDasOperacoesNoLedger() throws Exception {
+        // ARRANGE
+        var number = newAccount(500);
+
+        // ACT
+        var withdraw = transactionService.withdraw(new WithdrawDTO(number, 200));
+
+        // ASSERT: depósito e saque (além da criação da conta), com o id da transação
+        var audited = events.stream(AuditEvent.class).filter(event -> !event.event().startsWith("ACCOUNT_")).toList();
+        Assertions.assertEquals(2, audited.size());
+        Assertions.assertEquals("WITHDRAW", audited.get(1).event());
+        Assertions.assertEquals(withdraw.getId(), audited.get(1).id());
+        Assertions.assertEquals(200L, audited.get(1).amount());
+    }
+
+    @Test
+    void deveriaRecusarTransferenciaParaAPropriaConta() throws Exception {
+        // ARRANGE
+        var number = newAccount(1000);
+
+        // ACT
+        var res = mvc.perform(MockMvcRequestBuilders.post("/transaction/transfer")
+                .content("""
+                        { "sourceAccountNumber": %d, "receiverAccountNumber": %d, "amount": 3.00 }
+                        """.formatted(number, number))
+                .contentType(MediaType.APPLICATION_JSON)).andReturn().getResponse();
+        awaitJournal();
+
+        // ASSERT: nada debitado nem lançado além do depósito inicial
+        Assertions.assertEquals(400, res.getStatus());
+        Assertions.assertEquals(1000, accountRepository.getByNumber(number).get().getBalance());
+        Assertions.assertEquals(1, transactionRepository.count());
+    }
+
+    @Test
+    void deveriaSacarUmaUnicaVezComChaveQuandoAGravacaoDaRespostaFalha() throws Exception {
+        // ARRANGE: a gravação da resposta falha depois do saque aplicado no ledger
+        var number = newAccount(1000);
+        BDDMockito.willThrow(new DataAccessResourceFailureException("Banco indisponível"))
+                .given(idempotencyKeyRepository).complete(BDDMockito.anyString(), BDDMockito.anyInt(),
+                        BDDMockito.anyString());
+        var request = MockMvcRequestBuilders.post("/transaction/withdraw")
+                .header(IdempotencyService.HEADER, "saque-ledger")
+                .content("""
+                        { "sourceAccountNumber": %d, "amount": 3.00 }
+                        """.formatted(number))
+                .contentType(MediaType.APPLICATION_JSON);
+
+        // ACT: o cliente repete a requisição com a mesma chave
+        var first = mvc.perform(request).andReturn().getResponse();
+        var retry = mvc.perform(request).andReturn().getResponse();
+        awaitJournal();
+
+        // ASSERT: a repetição não saca de novo
+        Assertions.assertEquals(201, first.getStatus());
+        Assertions.assertEquals(409, retry.getStatus());
+        Assertions.assertEquals(700, accountRepository.getByNumber(number).get().getBalance());
+        Assertions.assertEquals(2, transactionRepository.count()); // Depósito inicial e saque
+    }
+}
@@ -0,0 +1,155 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+public class LedgerWalTest {
+    @TempDir
+    Path directory;
+
+    private static LedgerEntry deposit(long amount) {
+        return new LedgerEntry(amount, TransactionType.DEPOSIT, null, null, 2L, 67890L, amount,
+                LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123456789));
+    }
+
+    private static LedgerEntry transfer(long amount) {
+        return new LedgerEntry(amount, TransactionType.TRANSFER, 1L, 12345L, 2L, 67890L, amount, LocalDateTime.now());
+    }
+
+    private long segments() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void deveriaRelerRegistrosAoReabrir() throws IOException {
+        // ARRANGE
+        var entries = List.of(deposit(100), transfer(250), deposit(300));
+        try (var wal = LedgerWal.open(directory, 16, 0)) {
+            long last = 0;
+            for (var entry : entries)
+                last = wal.append(entry);
+            wal.sync(last);
+        }
+
+        // ACT
+        var wal = LedgerWal.open(directory, 16, 0);
+
+        // ASSERT
+        Assertions.assertEquals(3, wal.durableSequence());
+        Assertions.assertEquals(entries, wal.read(1, 10));
+        Assertions.assertEquals(4, wal.append(deposit(400))); // Continua a numeração
+    }
+
+    @Test
+    void deveriaCriarNovoSegmentoERemoverOsJaProjetados() throws IOException {
+        // ARRANGE
+        var wal = LedgerWal.open(directory, 4, 0);
+        for (int i = 1; i <= 10; i++)
+            wal.sync(wal.append(deposit(i)));
+
+        // ACT
+        var before = segments();
+        wal.release(8);
+
+        // ASSERT
+        Assertions.assertEquals(3, before); // 1-4, 5-8 e 9-10
+        Assertions.assertEquals(1, segments());
+        Assertions.assertEquals(9, wal.firstSequence());
+        Assertions.assertEquals(List.of(deposit(9), deposit(10)), wal.read(9, 10));
+    }
+
+    @Test
+    void deveriaContinuarAposCheckpointQuandoNaoHaSegmentos() throws IOException {
+        // ACT
+        var wal = LedgerWal.open(directory, 4, 41);
+
+        // ASSERT
+        Assertions.assertEquals(42, wal.firstSequence());
+        Assertions.assertEquals(42, wal.append(deposit(100)));
+    }
+
+    @Test
+    void deveriaDescartarRegistroCorrompidoNaRecuperacao() throws IOException {
+        // ARRANGE
+        try (var wal = LedgerWal.open(directory, 16, 0)) {
+            for (int i = 1; i <= 3; i++)
+                wal.sync(wal.append(deposit(i)));
+        }
+
+        // Escrita interrompida no meio do terceiro registro
+        try (var channel = FileChannel.open(directory.resolve("wal-00000000000000000001.log"),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), 2L * LedgerWal.RECORD_SIZE + 50);
+        }
+
+        // ACT
+        var wal = LedgerWal.open(directory, 16, 0);
+
+        // ASSERT
+        Assertions.assertEquals(2, wal.durableSequence());
+        Assertions.assertEquals(3, wal.append(deposit(30)));
+        wal.sync(3);
+        Assertions.assertEquals(List.of(deposit(1), deposit(2), deposit(30)), wal.read(1, 10));
+    }
+
+    @Test
+    void deveriaAgruparSyncsConcorrentes() throws Exception {
+        // ARRANGE
+        var wal = LedgerWal.open(directory, 1024, 0);
+        var executor = Executors.newFixedThreadPool(8);
+        var futures = new ArrayList<Future<?>>();
+
+        // ACT
+        for (int i = 0; i < 1600; i++)
+            futures.add(executor.submit(() -> wal.sync(wal.append(transfer(1)))));
+        for (var future : futures)
+            future.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // ASSERT
+        Assertions.assertEquals(1600, wal.durableSequence());
+        Assertions.assertEquals(1600, wal.read(1, 2000).size());
+        Assertions.assertTrue(wal.syncs() < 1600); // Mais de um lançamento por force
+    }
+
+    @Test
+    void deveriaProjetarNaRecuperacaoOQueFicouDepoisDoCheckpoint() throws Exception {
+        // ARRANGE
+        try (var wal = LedgerWal.open(directory, 16, 0)) {
+            for (int i = 1; i <= 3; i++)
+                wal.sync(wal.append(deposit(i)));
+        }
+        var projection = Mockito.mock(LedgerProjection.class);
+
+        // ACT
+        // O registro 1 já estava no banco quando o processo caiu
+        var journal = new WalLedgerJournal(LedgerWal.open(directory, 16, 1), 1, 100, projection);
+        journal.start();
+        journal.stop();
+
+        // ASSERT
+        BDDMockito.then(projection).should()
+                .write(List.of(deposit(2), deposit(3)), WalLedgerJournal.CHECKPOINT, 3);
+        Assertions.assertEquals(0, journal.pending());
+    }
+}
@@ -0,0 +1,141 @@
+package br.edu.utfpr.bankapi.replica;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.service.AccountService;
+import br.edu.utfpr.bankapi.service.TransactionService;
+
+/**
+ * Dois bancos H2 em memória: o primário dos testes e uma "réplica" com o
+ * mesmo esquema, preenchida à mão para saber de onde cada leitura veio
+ */
+@SpringBootTest(properties = {
+        "bankapi.datasource.replicas=" + ReplicaRoutingTest.REPLICA_URL + ";IFEXISTS=TRUE",
+        "bankapi.datasource.replica-health-interval=PT1H",
+        "spring.datasource.hikari.connection-timeout=1000" })
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ReplicaRoutingTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:db_bankapi_replica;DB_CLOSE_DELAY=-1";
+
+    // Mantém a réplica aberta entre os testes
+    static Connection replica;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    DataSource dataSource;
+
+    Account account;
+
+    @BeforeAll
+    static void openReplica() throws SQLException {
+        replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+    }
+
+    @AfterAll
+    static void closeReplica() throws SQLException {
+        replica.close();
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // Copia o esquema do primário para a réplica
+        var script = new ArrayList<String>();
+        try (var connection = dataSource.getConnection();
+                var statement = connection.createStatement();
+                var rs = statement.executeQuery("SCRIPT NODATA")) {
+            while (rs.next())
+                script.add(rs.getString(1));
+        }
+        try (var statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (var sql : script)
+                if (!sql.startsWith("CREATE USER") && !sql.startsWith("--"))
+                    statement.execute(sql);
+        }
+
+        account = accountRepository.save(new Account("Primaria", 90001, 100, 0));
+        try (var statement = replica.prepareStatement("INSERT INTO tb_account "
+                + "(id, name, number, balance, special_limit, blocked, version) VALUES (?, 'Replica', 90001, 100, 0, false, 0)")) {
+            statement.setLong(1, account.getId());
+            statement.executeUpdate();
+        }
+
+        routingDataSource.checkHealth();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteById(account.getId());
+    }
+
+    @Test
+    @Order(1)
+    void deveriaLerDaReplicaELerDoPrimarioContaAlteradaRecentemente() throws Exception {
+        // ARRANGE
+        Assertions.assertTrue(routingDataSource.isHealthy("replica-0"));
+        var beforeDeposit = accountService.getByNumber(90001).get();
+
+        // ACT
+        transactionService.deposit(new DepositDTO(90001, 50));
+        var afterDeposit = accountService.getByNumber(90001).get();
+
+        // ASSERT
+        Assertions.assertEquals("Replica", beforeDeposit.getName());
+        Assertions.assertEquals("Primaria", afterDeposit.getName()); // Lê as próprias escritas
+        Assertions.assertEquals(150, afterDeposit.getBalance());
+        Assertions.assertEquals("Replica", accountService.getAll().get(0).getName()); // Listagem continua na réplica
+    }
+
+    @Test
+    @Order(2)
+    void deveriaLerDoPrimarioQuandoAReplicaCai() throws Exception {
+        // ARRANGE
+        try (var statement = replica.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+        openReplica(); // Banco novo e vazio, para o @AfterAll
+
+        // ACT
+        routingDataSource.checkHealth();
+
+        // ASSERT
+        Assertions.assertFalse(routingDataSource.isHealthy("replica-0"));
+        Assertions.assertEquals("Primaria", accountService.getAll().get(0).getName());
+    }
+}
@@ -0,0 +1,85 @@
+package br.edu.utfpr.bankapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.mockito.BDDMockito;
+
+import br.edu.utfpr.bankapi.config.CacheConfig;
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+@SpringBootTest
+public class AccountCacheTest {
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @SpyBean
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    Account account;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.ACCOUNTS).clear();
+        account = accountRepository.save(new Account("Felizberto", 424242, 0, 100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void deveriaBuscarContaNoBancoApenasUmaVez() {
+        // ACT
+        accountService.getByNumber(424242);
+        accountService.getByNumber(424242);
+
+        // ASSERT
+        BDDMockito.then(accountRepository).should().getByNumber(424242);
+    }
+
+    @Test
+    void deveriaRemoverContaDoCacheAposDeposito() throws Exception {
+        // ARRANGE
+        accountService.getByNumber(424242);
+
+        // ACT
+        transactionService.deposit(new DepositDTO(424242, 200));
+
+        // ASSERT
+        Assertions.assertEquals(200, accountService.getByNumber(424242).get().getBalance());
+    }
+
+    @Test
+    void deveriaRemoverContaDoCacheAposAtualizacao() throws Exception {
+        // ARRANGE
+        accountService.getByNumber(424242);
+
+        // ACT
+        accountService.update(account.getId(), new AccountDTO("Felizberto", 434343L, 0, 500));
+
+        // ASSERT
+        Assertions.assertTrue(accountService.getByNumber(424242).isEmpty());
+        Assertions.assertEquals(500, accountService.getByNumber(434343).get().getSpecialLimit());
+    }
+}
@@ -0,0 +1,94 @@
+package br.edu.utfpr.bankapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.TransferRequestView;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.TransferRequestStatus;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.repository.TransferRequestRepository;
+
+@SpringBootTest
+public class AsyncTransferServiceTest {
+    @Autowired
+    AsyncTransferService asyncTransferService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    TransferRequestRepository transferRequestRepository;
+
+    @MockBean
+    TransferCallbackNotifier callbackNotifier;
+
+    Account source;
+    Account receiver;
+
+    @BeforeEach
+    void setUp() {
+        source = accountRepository.save(new Account("Origem", 70001, 1000, 0));
+        receiver = accountRepository.save(new Account("Destino", 70002, 0, 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferRequestRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteById(source.getId());
+        accountRepository.deleteById(receiver.getId());
+    }
+
+    @Test
+    void deveriaProcessarTransferenciasPendentesEmLote() {
+        // ARRANGE
+        var accepted = asyncTransferService.submit(new TransferDTO(70001, 70002, 800), "http://localhost/callback");
+        var rejected = asyncTransferService.submit(new TransferDTO(70001, 70002, 800), null);
+
+        // ACT
+        var processed = asyncTransferService.processBatch();
+
+        // ASSERT
+        Assertions.assertEquals(TransferRequestStatus.PENDING, accepted.status());
+        Assertions.assertEquals(2, processed);
+        Assertions.assertEquals(0, asyncTransferService.processBatch()); // Fila vazia
+
+        var completed = asyncTransferService.get(accepted.id()).get();
+        Assertions.assertEquals(TransferRequestStatus.COMPLETED, completed.status());
+        Assertions.assertNotNull(completed.transactionId());
+        Assertions.assertNotNull(completed.processedAt());
+
+        // A segunda transferência passou pela fila, mas o saldo já tinha sido usado
+        var withoutBalance = asyncTransferService.get(rejected.id()).get();
+        Assertions.assertEquals(TransferRequestStatus.REJECTED, withoutBalance.status());
+        Assertions.assertNull(withoutBalance.transactionId());
+        Assertions.assertNotNull(withoutBalance.message());
+
+        Assertions.assertEquals(200, accountRepository.getByNumber(70001).get().getBalance());
+        Assertions.assertEquals(800, accountRepository.getByNumber(70002).get().getBalance());
+
+        BDDMockito.then(callbackNotifier).should().notify(ArgumentMatchers.eq("http://localhost/callback"),
+                ArgumentMatchers.argThat((TransferRequestView view) -> view.id() == accepted.id()
+                        && view.status() == TransferRequestStatus.COMPLETED));
+        BDDMockito.then(callbackNotifier).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    void deveriaRetornarVazioParaTransferenciaInexistente() {
+        // ACT + ASSERT
+        Assertions.assertTrue(asyncTransferService.get(-1).isEmpty());
+    }
+}
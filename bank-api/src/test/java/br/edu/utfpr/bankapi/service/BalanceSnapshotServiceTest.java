@@ -0,0 +1,156 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.utfpr.bankapi.config.CacheConfig;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+
+@SpringBootTest
+public class BalanceSnapshotServiceTest {
+    @Autowired
+    BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    Account felizberto;
+
+    @BeforeEach
+    void setUp() throws NotFoundException {
+        cacheManager.getCache(CacheConfig.ACCOUNTS).clear();
+        ReflectionTestUtils.setField(balanceSnapshotService, "settle", Duration.ZERO);
+
+        felizberto = accountRepository.save(new Account("Felizberto", 900001, 0, 0));
+        accountRepository.save(new Account("Creuza", 900002, 0, 0));
+
+        transactionService.deposit(new DepositDTO(900001, 10000));
+        transactionService.transfer(new TransferDTO(900001, 900002, 2500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(balanceSnapshotService, "settle", Duration.ofSeconds(10));
+        jdbcTemplate.update("delete from tb_balance_snapshot");
+        jdbcTemplate.update("delete from tb_transaction"); // Inclui a transação com id alterado direto no banco
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void deveriaEncontrarECorrigirSaldoDivergente() {
+        // ARRANGE (saldo alterado sem transação correspondente)
+        jdbcTemplate.update("update tb_account set balance = 999 where id = ?", felizberto.getId());
+
+        // ACT
+        var verificacao = balanceSnapshotService.verify(false);
+        var correcao = balanceSnapshotService.verify(true);
+        var depois = balanceSnapshotService.verify(false);
+
+        // ASSERT
+        Assertions.assertEquals(2, verificacao.accounts());
+        Assertions.assertEquals(1, verificacao.mismatchCount());
+        Assertions.assertEquals(7500, verificacao.mismatches().get(0).expected());
+        Assertions.assertEquals(999, verificacao.mismatches().get(0).actual());
+        Assertions.assertEquals(0, verificacao.repairedCount());
+
+        Assertions.assertEquals(1, correcao.repairedCount());
+        Assertions.assertEquals(0, depois.mismatchCount());
+        Assertions.assertEquals(7500, accountRepository.getByNumber(900001).get().getBalance());
+    }
+
+    @Test
+    void deveriaReconstruirSaldosAPartirDoUltimoSnapshot() throws NotFoundException {
+        // ARRANGE
+        var snapshot = balanceSnapshotService.snapshot();
+
+        transactionService.deposit(new DepositDTO(900002, 100));
+        transactionService.transfer(new TransferDTO(900002, 900001, 600));
+
+        // ACT
+        var verificacao = balanceSnapshotService.verify(false);
+
+        // ASSERT
+        Assertions.assertEquals(2, snapshot.accounts());
+        Assertions.assertEquals(snapshot.watermark(), verificacao.watermark());
+        Assertions.assertEquals(0, verificacao.mismatchCount());
+    }
+
+    @Test
+    void naoDeveriaGravarSnapshotSemTransacoesNovas() {
+        // ARRANGE
+        var primeiro = balanceSnapshotService.snapshot();
+
+        // ACT
+        var segundo = balanceSnapshotService.snapshot();
+
+        // ASSERT
+        Assertions.assertEquals(primeiro.watermark(), segundo.watermark());
+        Assertions.assertEquals(0, segundo.accounts());
+    }
+
+    @Test
+    void naoDeveriaPerderTransacaoConfirmadaDepoisDoSnapshotComIdMenor() throws NotFoundException {
+        // ARRANGE: outro nó confirma depois do snapshot uma transação com id do
+        // seu bloco, menor que os ids já incluídos no snapshot
+        var primeiro = balanceSnapshotService.snapshot();
+
+        var deposito = transactionService.deposit(new DepositDTO(900002, 100));
+        long menorId = jdbcTemplate.queryForObject("select min(id) from tb_transaction", Long.class);
+        jdbcTemplate.update("update tb_transaction set id = ? where id = ?", menorId - 1, deposito.getId());
+
+        // ACT
+        var segundo = balanceSnapshotService.snapshot();
+        var verificacao = balanceSnapshotService.verify(true);
+
+        // ASSERT
+        Assertions.assertTrue(segundo.watermark().isAfter(primeiro.watermark()));
+        Assertions.assertEquals(2, segundo.accounts());
+        Assertions.assertEquals(0, verificacao.mismatchCount());
+        Assertions.assertEquals(2600, accountRepository.getByNumber(900002).get().getBalance());
+    }
+
+    @Test
+    void naoDeveriaPerderTransacaoGravadaDepoisDoSnapshotComDataAnterior() throws NotFoundException {
+        // ARRANGE: transação gravada depois do snapshot com a data da
+        // requisição, anterior ao snapshot (journal do ledger, retentativa)
+        var primeiro = balanceSnapshotService.snapshot();
+
+        var deposito = transactionService.deposit(new DepositDTO(900002, 100));
+        jdbcTemplate.update("update tb_transaction set date_time = ? where id = ?",
+                Timestamp.valueOf(primeiro.watermark().minusHours(1)), deposito.getId());
+
+        // ACT
+        var verificacao = balanceSnapshotService.verify(true);
+        var segundo = balanceSnapshotService.snapshot();
+        var depois = balanceSnapshotService.verify(false);
+
+        // ASSERT
+        Assertions.assertEquals(0, verificacao.mismatchCount());
+        Assertions.assertTrue(segundo.watermark().isAfter(primeiro.watermark()));
+        Assertions.assertEquals(0, depois.mismatchCount());
+        Assertions.assertEquals(2600, accountRepository.getByNumber(900002).get().getBalance());
+    }
+}
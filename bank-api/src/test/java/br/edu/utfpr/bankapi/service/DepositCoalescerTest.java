@@ -0,0 +1,139 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.IdempotencyKeyRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+        "bankapi.deposit.hot-accounts=60000",
+        "bankapi.deposit.coalesce.window=50ms"
+})
+@AutoConfigureMockMvc
+public class DepositCoalescerTest {
+    private static final int DEPOSITOS = 200;
+
+    @Autowired
+    DepositCoalescer depositCoalescer;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    IdempotencyKeyRepository idempotencyKeyRepository;
+
+    Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = accountRepository.save(new Account("Loja", 60000, 0, 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from tb_idempotency_key");
+        transactionRepository.deleteAll();
+        accountRepository.deleteById(account.getId());
+    }
+
+    @Test
+    void deveriaAgruparDepositosConcorrentesNaContaQuente() throws Exception {
+        // ARRANGE
+        var executor = Executors.newFixedThreadPool(16);
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<Transaction>>();
+
+        // ACT
+        for (int i = 0; i < DEPOSITOS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return depositCoalescer.deposit(new DepositDTO(60000, 150));
+            }));
+        }
+        start.countDown();
+
+        var ids = new HashSet<Long>();
+        for (var future : futures)
+            ids.add(future.get(30, TimeUnit.SECONDS).getId());
+        executor.shutdown();
+
+        // ASSERT
+        Assertions.assertTrue(depositCoalescer.isHot(60000));
+        Assertions.assertEquals(DEPOSITOS, ids.size()); // Cada depósito tem a sua transação
+        Assertions.assertEquals(DEPOSITOS, transactionRepository.count());
+        Assertions.assertEquals(DEPOSITOS * 150L, accountRepository.getByNumber(60000).get().getBalance());
+
+        var batches = meterRegistry.get("bankapi.deposit.coalesced").summary();
+        Assertions.assertTrue(batches.count() < DEPOSITOS); // Houve lotes com mais de um depósito
+        Assertions.assertTrue(batches.max() > 1);
+    }
+
+    @Test
+    void deveriaLancarNotFoundExceptionParaContaQuenteInexistente() {
+        // ACT + ASSERT
+        Assertions.assertThrows(NotFoundException.class,
+                () -> depositCoalescer.deposit(new DepositDTO(60001, 150)));
+        Assertions.assertFalse(depositCoalescer.isHot(60001));
+    }
+
+    @Test
+    void deveriaDepositarUmaUnicaVezComChaveQuandoAGravacaoDaRespostaFalha() throws Exception {
+        // ARRANGE: a primeira gravação da resposta falha
+        BDDMockito.willThrow(new DataAccessResourceFailureException("Banco indisponível")).willCallRealMethod()
+                .given(idempotencyKeyRepository).complete(BDDMockito.anyString(), BDDMockito.anyInt(),
+                        BDDMockito.anyString());
+        var request = MockMvcRequestBuilders.post("/transaction/deposit")
+                .header(IdempotencyService.HEADER, "deposito-conta-quente")
+                .content("""
+                        { "receiverAccountNumber": 60000, "amount": 1.50 }
+                        """)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        // ACT: o cliente repete a requisição com a mesma chave
+        Assertions.assertThrows(Exception.class, () -> mvc.perform(request));
+        var retry = mvc.perform(request).andReturn().getResponse();
+
+        // ASSERT: o depósito da primeira tentativa foi desfeito junto com a chave
+        Assertions.assertEquals(201, retry.getStatus());
+        Assertions.assertEquals(1, transactionRepository.count());
+        Assertions.assertEquals(150, accountRepository.getByNumber(60000).get().getBalance());
+    }
+}
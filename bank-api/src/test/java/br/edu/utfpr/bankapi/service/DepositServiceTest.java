@@ -1,5 +1,7 @@
 package br.edu.utfpr.bankapi.service;
 
+import java.util.Map;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,7 +11,9 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import br.edu.utfpr.bankapi.audit.AuditEvent;
 import br.edu.utfpr.bankapi.dto.DepositDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
 import br.edu.utfpr.bankapi.model.Account;
@@ -17,7 +21,7 @@ import br.edu.utfpr.bankapi.model.Transaction;
 import br.edu.utfpr.bankapi.model.TransactionType;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
 import br.edu.utfpr.bankapi.repository.TransactionRepository;
-import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.TransactionValidationChain;
 
 @ExtendWith(MockitoExtension.class)
 public class DepositServiceTest {
@@ -28,7 +32,10 @@ public class DepositServiceTest {
     TransactionRepository transactionRepository;
 
     @Mock
-    AvailableAccountValidation accountValidation;
+    TransactionValidationChain validationChain;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     TransactionService transactionService; // Objeto a ser testado
@@ -39,13 +46,13 @@ public class DepositServiceTest {
     @Test
     void deveriaDepositar() throws NotFoundException {
         // ARRANGE
-        double saldoInicial = 145.34;
-        var depositDTO = new DepositDTO(12345, 1000);
+        long saldoInicial = 14534; // R$ 145,34
+        var depositDTO = new DepositDTO(12345, 100000);
         var receiverAccount = new Account("John Smith",
                 12345, saldoInicial, 0);
 
-        BDDMockito.given(accountValidation.validate(receiverAccount.getNumber()))
-                .willReturn(receiverAccount);
+        BDDMockito.given(validationChain.loadAccount(receiverAccount.getNumber()))
+                .willReturn(Map.of(receiverAccount.getNumber(), receiverAccount));
 
         // ACT
         transactionService.deposit(depositDTO);
@@ -77,5 +84,8 @@ public class DepositServiceTest {
         // Verificar se o saldo foi alterado na conta de destino
         Assertions.assertEquals(saldoInicial + depositDTO.amount(), 
             transacaoSalva.getReceiverAccount().getBalance());
+
+        // Verificando se o evento de auditoria foi publicado
+        BDDMockito.then(eventPublisher).should().publishEvent(BDDMockito.any(AuditEvent.class));
     }
 }
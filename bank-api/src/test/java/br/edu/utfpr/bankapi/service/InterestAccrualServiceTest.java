@@ -0,0 +1,75 @@
+package br.edu.utfpr.bankapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+@SpringBootTest
+public class InterestAccrualServiceTest {
+    @Autowired
+    InterestAccrualService interestAccrualService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Blocos pequenos, para percorrer as contas em mais de um bloco
+        ReflectionTestUtils.setField(interestAccrualService, "chunkSize", 2);
+
+        accountRepository.save(new Account("Felizberto", 700001, 100000, 0)); // R$ 1000,00
+        accountRepository.save(new Account("Creuza", 700002, 0, 0));
+        accountRepository.save(new Account("Armarildo", 700003, -5000, 10000));
+        accountRepository.save(new Account("Jacinto", 700004, 200000, 0)); // R$ 2000,00
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(interestAccrualService, "chunkSize", 5000);
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void deveriaAplicarJurosApenasEmContasComSaldoPositivo() {
+        // ACT
+        var res = interestAccrualService.accrue(1.5f, 6);
+
+        // ASSERT
+        Assertions.assertEquals(4, res.accounts());
+        Assertions.assertEquals(2, res.credited());
+        Assertions.assertEquals(9344 + 18689, res.totalInterest());
+
+        Assertions.assertEquals(109344, accountRepository.getByNumber(700001).get().getBalance());
+        Assertions.assertEquals(0, accountRepository.getByNumber(700002).get().getBalance());
+        Assertions.assertEquals(-5000, accountRepository.getByNumber(700003).get().getBalance());
+        Assertions.assertEquals(218689, accountRepository.getByNumber(700004).get().getBalance());
+    }
+
+    @Test
+    void deveriaRegistrarUmaTransacaoDeJurosPorContaCreditada() {
+        // ACT
+        interestAccrualService.accrue(1.5f, 6);
+
+        // ASSERT
+        var transactions = transactionRepository.findAll();
+        Assertions.assertEquals(2, transactions.size());
+        for (var transaction : transactions) {
+            Assertions.assertEquals(TransactionType.INTEREST, transaction.getType());
+            Assertions.assertNull(transaction.getSourceAccount());
+            Assertions.assertNotNull(transaction.getReceiverAccount());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package br.edu.utfpr.bankapi.service;
 
+import java.util.Random;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -33,6 +35,44 @@ public class InterestCalculatorTest {
         Assertions.assertEquals(15.11, res);
     }
 
+    @Test
+    void deveriaCalcularJurosEmCentavosComOMesmoArredondamento() {
+        // ARRANGE (configurações para o teste)
+        long valorCentavos = 100000; // R$ 1000,00
+        float taxa = 1.5f;
+        int prazo = 6; // meses
 
+        // ACT (executar a funcionalidade a ser testada)
+        var res = InterestCalculator.calcularJurosCentavos(valorCentavos, taxa, prazo);
 
+        // ASSERT (verificar o resultado com o esperado)
+        Assertions.assertEquals(9344, res);
+    }
+
+    @Test
+    void deveriaCalcularOsMesmosJurosEmLoteEUmAUm() {
+        // ARRANGE: saldos, taxas e prazos aleatórios (semente fixa)
+        var random = new Random(42);
+        int quantidade = 10_000;
+        var saldos = new long[quantidade];
+        var taxas = new float[quantidade];
+        var prazos = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            saldos[i] = random.nextLong(0, 10_000_000_000L); // Até R$ 100 milhões
+            taxas[i] = random.nextInt(1, 500) / 100f; // 0,01% a 4,99%
+            prazos[i] = random.nextInt(1, 361);
+        }
+
+        for (int i = 0; i < quantidade; i++) {
+            // ACT
+            var lote = new long[1];
+            InterestCalculator.calcularJurosCentavos(new long[] { saldos[i] }, lote, 1, taxas[i], prazos[i]);
+            var centavos = InterestCalculator.calcularJurosCentavos(saldos[i], taxas[i], prazos[i]);
+            var reais = InterestCalculator.calcularJuros(saldos[i] / 100.0, taxas[i], prazos[i]);
+
+            // ASSERT
+            Assertions.assertEquals(centavos, lote[0]);
+            Assertions.assertEquals(centavos / 100.0, reais);
+        }
+    }
 }
@@ -0,0 +1,115 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = "bankapi.retry.max-attempts=50")
+public class OptimisticLockingTest {
+    private static final int DEPOSITOS = 160;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @SpyBean
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = accountRepository.save(new Account("Otimista", 80001, 0, 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteById(account.getId());
+    }
+
+    private double count(String name, String... tags) {
+        var counter = meterRegistry.find(name).tags(tags).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void deveriaRepetirAtualizacaoFeitaSobreContaDesatualizada() throws Exception {
+        // ARRANGE
+        transactionService.deposit(new DepositDTO(80001, 200)); // Versão 1
+
+        // A primeira leitura devolve a cópia anterior ao depósito: sem lock
+        // otimista o saldo 0 seria gravado por cima do depósito
+        var stale = new Account(account.getId(), "Otimista", 80001, 0, 0, false, 0);
+        var current = accountRepository.getByNumber(80001).get();
+        BDDMockito.willReturn(Optional.of(stale)).willReturn(Optional.of(current))
+                .given(accountRepository).findById(account.getId());
+
+        var conflicts = count("bankapi.retry.conflicts", "operation", "account-update");
+        var recovered = count("bankapi.retry.outcomes", "operation", "account-update", "outcome", "success");
+
+        // ACT
+        var updated = accountService.update(account.getId(), new AccountDTO("Otimista Renomeado", 80001L, 0, 500));
+
+        // ASSERT
+        Assertions.assertEquals("Otimista Renomeado", updated.getName());
+        Assertions.assertEquals(200, updated.getBalance()); // O depósito não foi sobrescrito
+        Assertions.assertEquals(200, accountRepository.getByNumber(80001).get().getBalance());
+        Assertions.assertEquals(conflicts + 1, count("bankapi.retry.conflicts", "operation", "account-update"));
+        Assertions.assertEquals(recovered + 1,
+                count("bankapi.retry.outcomes", "operation", "account-update", "outcome", "success"));
+    }
+
+    @Test
+    void deveriaAplicarTodosOsDepositosConcorrentesSemLockPessimista() throws Exception {
+        // ARRANGE
+        var executor = Executors.newFixedThreadPool(8);
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<?>>();
+
+        // ACT
+        for (int i = 0; i < DEPOSITOS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return transactionService.deposit(new DepositDTO(80001, 100));
+            }));
+        }
+        start.countDown();
+
+        for (var future : futures)
+            future.get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // ASSERT
+        var saved = accountRepository.getByNumber(80001).get();
+        Assertions.assertEquals(DEPOSITOS * 100L, saved.getBalance()); // Nenhuma atualização perdida
+        Assertions.assertEquals(DEPOSITOS, saved.getVersion());
+    }
+}
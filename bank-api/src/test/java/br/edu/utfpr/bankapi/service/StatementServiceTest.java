@@ -0,0 +1,102 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import br.edu.utfpr.bankapi.config.CacheConfig;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+@SpringBootTest
+public class StatementServiceTest {
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Autowired
+    StatementService statementService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.ACCOUNTS).clear();
+
+        var conta = accountRepository.save(new Account("Felizberto", 800001, 0, 0));
+        var outra = accountRepository.save(new Account("Creuza", 800002, 0, 0));
+
+        // 5 créditos e 5 débitos alternados, um por minuto
+        var transactions = new ArrayList<Transaction>();
+        for (int i = 0; i < 10; i++) {
+            var transaction = new Transaction();
+            transaction.setType(TransactionType.TRANSFER);
+            transaction.setAmount(100 * (i + 1));
+            transaction.setDateTime(INICIO.plusMinutes(i));
+            transaction.setSourceAccount(i % 2 == 0 ? outra : conta);
+            transaction.setReceiverAccount(i % 2 == 0 ? conta : outra);
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void deveriaPaginarDoMaisRecenteParaOMaisAntigo() throws NotFoundException {
+        // ACT
+        var primeira = statementService.getStatement(800001, null, INICIO.plusHours(1), null, 4);
+        var segunda = statementService.getStatement(800001, null, null, primeira.nextCursor(), 4);
+        var terceira = statementService.getStatement(800001, null, null, segunda.nextCursor(), 4);
+
+        // ASSERT
+        Assertions.assertEquals(4, primeira.entries().size());
+        Assertions.assertEquals(4, segunda.entries().size());
+        Assertions.assertEquals(2, terceira.entries().size());
+        Assertions.assertNull(terceira.nextCursor());
+
+        // Mais recente: débito de 1000; mais antigo: crédito de 100
+        Assertions.assertEquals(-1000, primeira.entries().get(0).amount());
+        Assertions.assertEquals(800002, primeira.entries().get(0).counterpartAccountNumber());
+        Assertions.assertEquals(100, terceira.entries().get(1).amount());
+        Assertions.assertEquals(INICIO, terceira.entries().get(1).dateTime());
+    }
+
+    @Test
+    void deveriaFiltrarPorPeriodo() throws NotFoundException {
+        // ACT
+        var res = statementService.getStatement(800001, INICIO.plusMinutes(2), INICIO.plusMinutes(4), null, 50);
+
+        // ASSERT
+        Assertions.assertEquals(3, res.entries().size());
+        Assertions.assertEquals(INICIO.plusMinutes(4), res.entries().get(0).dateTime());
+        Assertions.assertEquals(INICIO.plusMinutes(2), res.entries().get(2).dateTime());
+        Assertions.assertNull(res.nextCursor());
+    }
+
+    @Test
+    void deveriaLancarNotFoundExceptionParaContaInexistente() {
+        Assertions.assertThrows(NotFoundException.class,
+                () -> statementService.getStatement(999999, null, null, null, 50));
+    }
+}
@@ -0,0 +1,100 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+/**
+ * Teste de estresse: milhares de transferências concorrentes, em sentidos
+ * opostos, entre poucas contas. Não pode haver deadlock nem perda de
+ * atualização, e o total de dinheiro deve ser conservado.
+ */
+@SpringBootTest
+public class TransferConcurrencyTest {
+    private static final int CONTAS = 10;
+    private static final int TRANSFERENCIAS = 2000;
+    private static final long SALDO_INICIAL = 100000; // R$ 1000,00
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    List<Account> accounts;
+
+    @BeforeEach
+    void setUp() {
+        accounts = new ArrayList<>();
+        for (int i = 0; i < CONTAS; i++)
+            accounts.add(accountRepository.save(new Account("Conta " + i, 50000 + i, SALDO_INICIAL, 0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAllById(accounts.stream().map(Account::getId).toList());
+    }
+
+    @Test
+    void deveriaConservarDinheiroEmTransferenciasConcorrentes() throws Exception {
+        // ARRANGE
+        var executor = Executors.newFixedThreadPool(8);
+        var futures = new ArrayList<Future<?>>();
+        var realizadas = new AtomicInteger();
+        var rejeitadas = new AtomicInteger();
+
+        // ACT
+        for (int i = 0; i < TRANSFERENCIAS; i++) {
+            long source = 50000 + (i % CONTAS);
+            long receiver = 50000 + ((i * 7 + 3) % CONTAS);
+            futures.add(executor.submit(() -> {
+                try {
+                    transactionService.transfer(new TransferDTO(source, receiver, 1000));
+                    realizadas.incrementAndGet();
+                } catch (WithoutBalanceException ex) {
+                    rejeitadas.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            for (var future : futures)
+                future.get();
+        });
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // ASSERT
+        Assertions.assertEquals(TRANSFERENCIAS, realizadas.get() + rejeitadas.get());
+        Assertions.assertEquals(realizadas.get(), transactionRepository.count());
+
+        long total = 0;
+        for (var account : accountRepository.findAllById(accounts.stream().map(Account::getId).toList())) {
+            Assertions.assertTrue(account.getBalance() >= 0);
+            total += account.getBalance();
+        }
+        Assertions.assertEquals(CONTAS * SALDO_INICIAL, total);
+    }
+}
@@ -1,5 +1,7 @@
 package br.edu.utfpr.bankapi.service;
 
+import java.util.List;
+
 import br.edu.utfpr.bankapi.dto.TransferDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
 import br.edu.utfpr.bankapi.model.Account;
@@ -7,15 +9,22 @@ import br.edu.utfpr.bankapi.model.Transaction;
 import br.edu.utfpr.bankapi.model.TransactionType;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
 import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
 import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
 import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+import br.edu.utfpr.bankapi.validations.BlockedAccountValidation;
+import br.edu.utfpr.bankapi.validations.SameAccountValidation;
+import br.edu.utfpr.bankapi.validations.SpendingLimitValidation;
+import br.edu.utfpr.bankapi.validations.TransactionValidationChain;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.mockito.junit.jupiter.MockitoSettings;
-import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 public class TransferServiceTest {
@@ -26,10 +35,13 @@ public class TransferServiceTest {
     TransactionRepository transactionRepository;
 
     @Mock
-    AvailableAccountValidation accountValidation;
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    ShardRouter shardRouter;
 
     @Mock
-    AvailableBalanceValidation availableBalanceValidation;
+    SpendingLimitValidation spendingLimit;
 
     @InjectMocks
     TransactionService transactionService; // Object to be tested
@@ -37,20 +49,28 @@ public class TransferServiceTest {
     @Captor
     ArgumentCaptor<Transaction> transactionCaptor;
 
+    @BeforeEach
+    void setUp() {
+        // Cadeia de validações real, sobre o repositório simulado
+        var validationChain = new TransactionValidationChain();
+        ReflectionTestUtils.setField(validationChain, "accountRepository", accountRepository);
+        ReflectionTestUtils.setField(validationChain, "validators", List.of(new SameAccountValidation(),
+                new AvailableAccountValidation(), new BlockedAccountValidation(), new AvailableBalanceValidation(),
+                spendingLimit));
+        ReflectionTestUtils.setField(transactionService, "validationChain", validationChain);
+    }
+
     @Test
     void deveriaTransferir() throws NotFoundException {
         // ARRANGE
-        double saldoInicialSource = 2000.00;
-        double saldoInicialReceiver = 500.00;
-        var transferDTO = new TransferDTO(12345, 67890, 1000);
+        long saldoInicialSource = 200000; // R$ 2000,00
+        long saldoInicialReceiver = 50000; // R$ 500,00
+        var transferDTO = new TransferDTO(12345, 67890, 100000);
         var sourceAccount = new Account("John Smith", 12345, saldoInicialSource, 0);
         var receiverAccount = new Account("Jane Doe", 67890, saldoInicialReceiver, 0);
 
-        BDDMockito.given(accountValidation.validate(transferDTO.sourceAccountNumber()))
-                .willReturn(sourceAccount);
-        BDDMockito.given(accountValidation.validate(transferDTO.receiverAccountNumber()))
-                .willReturn(receiverAccount);
-        BDDMockito.willDoNothing().given(availableBalanceValidation).validate(BDDMockito.any());
+        BDDMockito.given(accountRepository.lockAllByNumberIn(BDDMockito.any()))
+                .willReturn(List.of(sourceAccount, receiverAccount));
 
         // ACT
         transactionService.transfer(transferDTO);
@@ -70,27 +90,34 @@ public class TransferServiceTest {
 
     @Test
     void deveriaLancarNotFoundExceptionQuandoContaNaoExisteParaTransferencia() throws NotFoundException {
+        // ARRANGE: só a conta de destino existe
         var transferDTO = new TransferDTO(99999, 67890, 1000);
+        var receiverAccount = new Account("Jane Doe", 67890, 500, 0);
 
-        BDDMockito.given(accountValidation.validate(transferDTO.sourceAccountNumber()))
-                .willThrow(new NotFoundException("Source account not found"));
+        BDDMockito.given(accountRepository.lockAllByNumberIn(BDDMockito.any())).willReturn(List.of(receiverAccount));
 
+        // ACT + ASSERT
         Assertions.assertThrows(NotFoundException.class, () -> {
             transactionService.transfer(transferDTO);
         });
+        BDDMockito.then(transactionRepository).shouldHaveNoInteractions();
+        Assertions.assertEquals(500, receiverAccount.getBalance());
     }
 
-    @MockitoSettings(strictness = Strictness.LENIENT)
     @Test
     void deveriaLancarNotFoundExceptionQuandoContaDestinoNaoExisteParaTransferencia() throws NotFoundException {
+        // ARRANGE: só a conta de origem existe
         var transferDTO = new TransferDTO(12345, 99999, 1000);
+        var sourceAccount = new Account("John Smith", 12345, 5000, 0);
 
-        BDDMockito.given(accountValidation.validate(transferDTO.receiverAccountNumber()))
-                .willThrow(new NotFoundException("Receiver account not found"));
+        BDDMockito.given(accountRepository.lockAllByNumberIn(BDDMockito.any())).willReturn(List.of(sourceAccount));
 
+        // ACT + ASSERT
         Assertions.assertThrows(NotFoundException.class, () -> {
             transactionService.transfer(transferDTO);
         });
+        BDDMockito.then(transactionRepository).shouldHaveNoInteractions();
+        Assertions.assertEquals(5000, sourceAccount.getBalance());
     }
 
     @Test
@@ -99,17 +126,13 @@ public class TransferServiceTest {
         var sourceAccount = new Account("John Smith", 12345, 500, 0);
         var receiverAccount = new Account("Jane Doe", 67890, 500, 0);
 
-        BDDMockito.given(accountValidation.validate(transferDTO.sourceAccountNumber()))
-                .willReturn(sourceAccount);
-        BDDMockito.given(accountValidation.validate(transferDTO.receiverAccountNumber()))
-                .willReturn(receiverAccount);
-
-        BDDMockito.willThrow(new IllegalArgumentException("Insufficient balance"))
-                .given(availableBalanceValidation).validate(BDDMockito.any());
+        BDDMockito.given(accountRepository.lockAllByNumberIn(BDDMockito.any()))
+                .willReturn(List.of(sourceAccount, receiverAccount));
 
-        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+        Assertions.assertThrows(WithoutBalanceException.class, () -> {
             transactionService.transfer(transferDTO);
         });
+        BDDMockito.then(transactionRepository).shouldHaveNoInteractions();
     }
 
-}
\ No newline at end of file
+}
@@ -1,5 +1,8 @@
 package br.edu.utfpr.bankapi.service;
 
+import java.util.List;
+import java.util.Optional;
+
 import br.edu.utfpr.bankapi.dto.WithdrawDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
 import br.edu.utfpr.bankapi.model.Account;
@@ -7,13 +10,21 @@ import br.edu.utfpr.bankapi.model.Transaction;
 import br.edu.utfpr.bankapi.model.TransactionType;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
 import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
 import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
 import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+import br.edu.utfpr.bankapi.validations.BlockedAccountValidation;
+import br.edu.utfpr.bankapi.validations.SameAccountValidation;
+import br.edu.utfpr.bankapi.validations.SpendingLimitValidation;
+import br.edu.utfpr.bankapi.validations.TransactionValidationChain;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 public class WithdrawServiceTest {
@@ -24,10 +35,10 @@ public class WithdrawServiceTest {
     TransactionRepository transactionRepository;
 
     @Mock
-    AvailableAccountValidation accountValidation;
+    ApplicationEventPublisher eventPublisher;
 
     @Mock
-    AvailableBalanceValidation availableBalanceValidation;
+    SpendingLimitValidation spendingLimit;
 
     @InjectMocks
     TransactionService transactionService; // Object to be tested
@@ -35,16 +46,26 @@ public class WithdrawServiceTest {
     @Captor
     ArgumentCaptor<Transaction> transactionCaptor;
 
+    @BeforeEach
+    void setUp() {
+        // Cadeia de validações real, sobre o repositório simulado
+        var validationChain = new TransactionValidationChain();
+        ReflectionTestUtils.setField(validationChain, "accountRepository", accountRepository);
+        ReflectionTestUtils.setField(validationChain, "validators", List.of(new SameAccountValidation(),
+                new AvailableAccountValidation(), new BlockedAccountValidation(), new AvailableBalanceValidation(),
+                spendingLimit));
+        ReflectionTestUtils.setField(transactionService, "validationChain", validationChain);
+    }
+
     @Test
     void deveriaSacar() throws NotFoundException {
         // ARRANGE
-        double saldoInicial = 2000.00;
-        var withdrawDTO = new WithdrawDTO(12345, 1000);
+        long saldoInicial = 200000; // R$ 2000,00
+        var withdrawDTO = new WithdrawDTO(12345, 100000);
         var sourceAccount = new Account("Jacinto Paulo", 12345, saldoInicial, 0);
 
-        BDDMockito.given(accountValidation.validate(withdrawDTO.sourceAccountNumber()))
-                .willReturn(sourceAccount);
-        BDDMockito.willDoNothing().given(availableBalanceValidation).validate(BDDMockito.any());
+        BDDMockito.given(accountRepository.getByNumber(withdrawDTO.sourceAccountNumber()))
+                .willReturn(Optional.of(sourceAccount));
 
         // ACT
         transactionService.withdraw(withdrawDTO);
@@ -62,14 +83,16 @@ public class WithdrawServiceTest {
 
     @Test
     void deveriaLancarNotFoundExceptionQuandoContaNaoExisteParaSaque() throws NotFoundException {
+        // ARRANGE
         var withdrawDTO = new WithdrawDTO(99999, 1000);
 
-        BDDMockito.given(accountValidation.validate(withdrawDTO.sourceAccountNumber()))
-                .willThrow(new NotFoundException("Account not found"));
+        BDDMockito.given(accountRepository.getByNumber(99999)).willReturn(Optional.empty());
 
+        // ACT + ASSERT
         Assertions.assertThrows(NotFoundException.class, () -> {
             transactionService.withdraw(withdrawDTO);
         });
+        BDDMockito.then(transactionRepository).shouldHaveNoInteractions();
     }
 
     @Test
@@ -77,14 +100,12 @@ public class WithdrawServiceTest {
         var withdrawDTO = new WithdrawDTO(12345, 1000);
         var sourceAccount = new Account("Jacinto Paulo", 12345, 500, 0);
 
-        BDDMockito.given(accountValidation.validate(withdrawDTO.sourceAccountNumber()))
-                .willReturn(sourceAccount);
-
-        BDDMockito.willThrow(new IllegalArgumentException("Insufficient balance"))
-                .given(availableBalanceValidation).validate(BDDMockito.any());
+        BDDMockito.given(accountRepository.getByNumber(withdrawDTO.sourceAccountNumber()))
+                .willReturn(Optional.of(sourceAccount));
 
-        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+        Assertions.assertThrows(WithoutBalanceException.class, () -> {
             transactionService.withdraw(withdrawDTO);
         });
+        BDDMockito.then(transactionRepository).shouldHaveNoInteractions();
     }
 }
\ No newline at end of file
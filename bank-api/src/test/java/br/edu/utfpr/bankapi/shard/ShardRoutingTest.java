@@ -0,0 +1,190 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.TransferRequestStatus;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.repository.TransferInboxRepository;
+import br.edu.utfpr.bankapi.repository.TransferOutboxRepository;
+import br.edu.utfpr.bankapi.service.AccountService;
+import br.edu.utfpr.bankapi.service.TransactionService;
+import br.edu.utfpr.bankapi.validations.SpendingLimitValidation;
+
+/**
+ * Dois shards em bancos H2 em memória: o banco dos testes (shard 0) e um
+ * segundo banco, com o esquema gerado na inicialização
+ */
+@SpringBootTest(properties = {
+        "bankapi.datasource.shards=jdbc:h2:mem:db_bankapi_shard1;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "bankapi.outbox.relay-interval=PT1H" })
+public class ShardRoutingTest {
+
+    @Autowired
+    ShardRouter shardRouter;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    TransferOutboxRelay relay;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    TransferOutboxRepository transferOutboxRepository;
+
+    @Autowired
+    TransferInboxRepository transferInboxRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    // Um número de conta em cada shard
+    long local;
+    long remote;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        local = numberOnShard(0);
+        remote = numberOnShard(1);
+
+        accountService.save(new AccountDTO("Shard Zero", local, 0, 0));
+        accountService.save(new AccountDTO("Shard Um", remote, 0, 0));
+        transactionService.deposit(new DepositDTO(local, 1000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.onEach(() -> {
+            transferInboxRepository.deleteAll();
+            transferOutboxRepository.deleteAll();
+            transactionRepository.deleteAll();
+            accountRepository.deleteAll();
+            return null;
+        });
+    }
+
+    private long numberOnShard(int shard) {
+        return LongStream.iterate(95001, n -> n + 1).filter(n -> shardRouter.shardOf(n) == shard).findFirst()
+                .getAsLong();
+    }
+
+    private Account read(long number) {
+        return shardRouter.on(shardRouter.shardOf(number), () -> accountRepository.getByNumber(number)).get();
+    }
+
+    @Test
+    void deveriaGravarCadaContaNoShardDoSeuNumero() throws Exception {
+        // ACT
+        var onShardZero = shardRouter.on(0, () -> accountRepository.getByNumber(remote));
+        var onShardOne = shardRouter.on(1, () -> accountRepository.getByNumber(remote));
+
+        // ASSERT
+        Assertions.assertTrue(onShardZero.isEmpty());
+        Assertions.assertTrue(onShardOne.isPresent());
+        Assertions.assertTrue(onShardOne.get().getId() >= ShardRouter.firstId(1)); // Ids não se repetem entre shards
+        Assertions.assertEquals("Shard Um", accountService.getByNumber(remote).get().getName());
+        Assertions.assertEquals(2, accountService.getAll().size());
+
+        var updated = accountService.update(onShardOne.get().getId(), new AccountDTO("Shard Um Renomeada", remote, 0, 0));
+        Assertions.assertEquals("Shard Um Renomeada", read(remote).getName());
+        Assertions.assertEquals(onShardOne.get().getId(), updated.getId());
+    }
+
+    @Test
+    void deveriaGerarIdsDeTransacaoEmBlocosSeparadosPorShard() throws Exception {
+        // ACT: depósitos intercalados entre os shards
+        var ids = new long[4];
+        for (int i = 0; i < ids.length; i++)
+            ids[i] = transactionService.deposit(new DepositDTO(i % 2 == 0 ? local : remote, 10)).getId();
+
+        // ASSERT: um bloco em memória por shard, cada um na faixa do seu shard
+        for (int i = 0; i < ids.length; i++)
+            Assertions.assertEquals(i % 2, shardRouter.shardOfId(ids[i]));
+        Assertions.assertTrue(ids[2] > ids[0]);
+        Assertions.assertTrue(ids[3] > ids[1]);
+    }
+
+    @Test
+    void deveriaCreditarTransferenciaEntreShardsUmaUnicaVezPeloOutbox() throws Exception {
+        // ACT
+        var debit = transactionService.transfer(new TransferDTO(local, remote, 400));
+        var beforeRelay = read(remote).getBalance();
+        var relayed = relay.relay();
+        var relayedAgain = relay.relay();
+
+        // ASSERT
+        Assertions.assertEquals(0, beforeRelay); // O crédito é feito depois do commit do débito
+        Assertions.assertEquals(1, relayed);
+        Assertions.assertEquals(0, relayedAgain);
+        Assertions.assertEquals(600, read(local).getBalance());
+        Assertions.assertEquals(400, read(remote).getBalance());
+
+        var outbox = shardRouter.on(0, () -> transferOutboxRepository.findAll()).get(0);
+        Assertions.assertEquals(TransferRequestStatus.COMPLETED, outbox.getStatus());
+        Assertions.assertEquals(debit.getId(), outbox.getDebitTransactionId());
+        Assertions.assertEquals(remote, transactionService.getView(debit.getId()).get().receiverAccountNumber());
+        Assertions.assertEquals(local,
+                transactionService.getView(outbox.getCreditTransactionId()).get().sourceAccountNumber());
+    }
+
+    @Test
+    void deveriaEstornarTransferenciaRecusadaNoShardDeDestino() throws Exception {
+        // ARRANGE
+        transactionService.transfer(new TransferDTO(local, remote, 400));
+        accountService.setBlocked(read(remote).getId(), true); // Bloqueada antes do crédito
+
+        // ACT
+        relay.relay();
+
+        // ASSERT
+        Assertions.assertEquals(1000, read(local).getBalance());
+        Assertions.assertEquals(0, read(remote).getBalance());
+
+        var outbox = shardRouter.on(0, () -> transferOutboxRepository.findAll()).get(0);
+        Assertions.assertEquals(TransferRequestStatus.REJECTED, outbox.getStatus());
+        Assertions.assertNotNull(outbox.getMessage());
+    }
+
+    @Test
+    void deveriaDescontarTransferenciaEstornadaAoReconstruirOsLimitesNaInicializacao() throws Exception {
+        // ARRANGE: uma transferência creditada e outra estornada no destino
+        transactionService.transfer(new TransferDTO(local, remote, 300));
+        relay.relay();
+        transactionService.transfer(new TransferDTO(local, remote, 400));
+        accountService.setBlocked(read(remote).getId(), true); // Bloqueada antes do crédito
+        relay.relay();
+
+        // ACT: limites reconstruídos do banco, como após um reinício
+        var restarted = new SpendingLimitValidation();
+        ReflectionTestUtils.setField(restarted, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(restarted, "shardRouter", shardRouter);
+        ReflectionTestUtils.setField(restarted, "perDay", 1000L);
+        restarted.afterSingletonsInstantiated();
+
+        // ASSERT: só a transferência creditada conta para o limite do dia
+        Assertions.assertTrue(restarted.check(local, 700).isEmpty());
+        Assertions.assertTrue(restarted.check(local, 701).isPresent());
+    }
+}
@@ -1,70 +1,64 @@
 package br.edu.utfpr.bankapi.validations;
 
-import java.util.Optional;
+import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.BDDMockito;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 
-import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
 import br.edu.utfpr.bankapi.model.Account;
-import br.edu.utfpr.bankapi.repository.AccountRepository;
 
-@ExtendWith(MockitoExtension.class)
 public class AvaliableAccountValiadationTest {
-    @Mock
-    AccountRepository accountRepository;
 
-    @InjectMocks
-    AvailableAccountValidation validation;
-
-    @Mock
-    Account account;
+    private final AvailableAccountValidation validation = new AvailableAccountValidation();
 
     @Test
-    void deveriaEncontrarUmaConta() throws NotFoundException {
+    void deveriaEncontrarUmaConta() {
         // ARRANGE
         long number = 12345;
-
-        // Simulando o comportamento do Repositorio (AccountRepository)
-        BDDMockito
-                .given(accountRepository.getByNumber(number))
-                .willReturn(Optional.of(account));
+        var context = ValidationContext.of(new WithdrawDTO(number, 1000),
+                Map.of(number, new Account("John Smith", number, 0, 0)));
 
         // ACT + ASSERT
-        Assertions.assertDoesNotThrow(() -> validation.validate(number));
-        // não ocorra uma exception...
+        Assertions.assertTrue(validation.validate(context).isEmpty());
     }
 
     @Test
-    void deveriaLancarNotFoundExceptionParaContaInexistente() {
+    void deveriaRecusarContaInexistente() {
         // ARRANGE
         long number = 12345;
+        var context = ValidationContext.of(new DepositDTO(number, 1000), Map.of());
 
-        // Simulando o comportamento do Repositorio (AccountRepository)
-        BDDMockito
-                .given(accountRepository.getByNumber(number))
-                .willReturn(Optional.empty());
+        // ACT
+        var rejection = validation.validate(context);
 
-        // ACT + ASSERT
-        Assertions.assertThrows(NotFoundException.class, () -> validation.validate(number));
+        // ASSERT
+        Assertions.assertEquals(RejectionReason.ACCOUNT_NOT_FOUND, rejection.get().reason());
+        Assertions.assertEquals(number, rejection.get().accountNumber());
     }
 
     @Test
-    void deveriaLancarNotFoundExceptionParaNumeroDeContaInvalido() {
+    void deveriaRecusarNumeroDeContaInvalido() {
         // ARRANGE
         long invalidNumber = -1;
-
-        // Simulando o comportamento do Repositorio (AccountRepository)
-        BDDMockito
-                .given(accountRepository.getByNumber(invalidNumber))
-                .willReturn(Optional.empty());
+        var context = ValidationContext.of(new WithdrawDTO(invalidNumber, 1000), Map.of());
 
         // ACT + ASSERT
-        Assertions.assertThrows(NotFoundException.class, () -> validation.validate(invalidNumber));
+        Assertions.assertEquals(RejectionReason.ACCOUNT_NOT_FOUND, validation.validate(context).get().reason());
+    }
+
+    @Test
+    void deveriaRecusarTransferenciaParaDestinoInexistente() {
+        // ARRANGE
+        var context = ValidationContext.of(new TransferDTO(12345, 99999, 1000),
+                Map.of(12345L, new Account("John Smith", 12345, 0, 0)));
+
+        // ACT
+        var rejection = validation.validate(context);
+
+        // ASSERT
+        Assertions.assertEquals(99999, rejection.get().accountNumber());
     }
 }
@@ -1,7 +1,8 @@
 package br.edu.utfpr.bankapi.validations;
-import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import java.util.Map;
+
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
 import br.edu.utfpr.bankapi.model.Account;
-import br.edu.utfpr.bankapi.model.Transaction;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -11,28 +12,28 @@ public class AvaliableBalanceValiadationTest {
     private final AvailableBalanceValidation validation = new AvailableBalanceValidation();
 
     @Test
-    void shouldNotThrowExceptionWhenBalanceIsSufficient() {
+    void shouldAcceptWhenBalanceIsSufficient() {
         // Arrange
         Account sourceAccount = Mockito.mock(Account.class);
-        Mockito.when(sourceAccount.getBalanceWithLimit()).thenReturn(2000.0);
-        Transaction transaction = new Transaction();
-        transaction.setSourceAccount(sourceAccount);
-        transaction.setAmount(1000.0);
+        Mockito.when(sourceAccount.getBalanceWithLimit()).thenReturn(200000L);
+        var context = ValidationContext.of(new WithdrawDTO(12345, 100000), Map.of(12345L, sourceAccount));
 
         // Assert
-        Assertions.assertDoesNotThrow(() -> validation.validate(transaction));
+        Assertions.assertTrue(validation.validate(context).isEmpty());
     }
 
     @Test
-    void shouldThrowWithoutBalanceExceptionWhenBalanceIsInsufficient() {
+    void shouldRejectWithoutBalanceWhenBalanceIsInsufficient() {
         // Arrange
         Account sourceAccount = Mockito.mock(Account.class);
-        Mockito.when(sourceAccount.getBalanceWithLimit()).thenReturn(500.0);
-        Transaction transaction = new Transaction();
-        transaction.setSourceAccount(sourceAccount);
-        transaction.setAmount(1000.0);
+        Mockito.when(sourceAccount.getBalanceWithLimit()).thenReturn(50000L);
+        Mockito.when(sourceAccount.getNumber()).thenReturn(12345L);
+        var context = ValidationContext.of(new WithdrawDTO(12345, 100000), Map.of(12345L, sourceAccount));
+
+        // Act
+        var rejection = validation.validate(context);
 
         // Assert
-        Assertions.assertThrows(WithoutBalanceException.class, () -> validation.validate(transaction));
+        Assertions.assertEquals(RejectionReason.WITHOUT_BALANCE, rejection.get().reason());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package br.edu.utfpr.bankapi.validations;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.model.Account;
+
+public class SpendingLimitValidationTest {
+
+    SpendingLimitValidation validation;
+
+    Account john;
+
+    @BeforeEach
+    void setUp() {
+        validation = new SpendingLimitValidation();
+        ReflectionTestUtils.setField(validation, "perTransaction", 500L);
+        ReflectionTestUtils.setField(validation, "perHour", 1000L);
+        ReflectionTestUtils.setField(validation, "perDay", 1500L);
+
+        john = new Account("John Smith", 12345, 10000, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void deveriaRecusarSaqueAcimaDoLimitePorTransacao() {
+        // ACT
+        var rejection = validation.validate(ValidationContext.of(new WithdrawDTO(12345, 600), Map.of(12345L, john)));
+
+        // ASSERT
+        Assertions.assertEquals(RejectionReason.SPENDING_LIMIT, rejection.get().reason());
+        Assertions.assertTrue(validation.check(12345, 500).isEmpty());
+    }
+
+    @Test
+    void deveriaRecusarQuandoOsGastosDaHoraUltrapassamOLimite() {
+        // ARRANGE
+        validation.record(12345, 500);
+        validation.record(12345, 400);
+
+        // ACT & ASSERT
+        Assertions.assertTrue(validation.check(12345, 100).isEmpty());
+        Assertions.assertTrue(validation.check(12345, 101).isPresent());
+        Assertions.assertTrue(validation.check(67890, 500).isEmpty()); // Cada conta com os seus gastos
+    }
+
+    @Test
+    void deveriaDescartarGastosForaDaJanelaDeUmaHora() {
+        // ARRANGE
+        var windows = new SpendingWindows();
+        windows.add(12345, 300, 1000, 1);
+        windows.add(12345, 200, 1030, 1);
+
+        // ACT & ASSERT
+        Assertions.assertEquals(500, windows.lastHour(12345, 1059));
+        Assertions.assertEquals(200, windows.lastHour(12345, 1060)); // O minuto 1000 saiu da janela
+
+        windows.add(12345, 100, 1100, 1);
+        Assertions.assertEquals(100, windows.lastHour(12345, 1100));
+        Assertions.assertEquals(600, windows.day(12345, 1)); // O total do dia não desliza
+        Assertions.assertEquals(0, windows.day(12345, 2));
+    }
+
+    @Test
+    void deveriaDesfazerOsGastosQuandoATransacaoSofreRollback() {
+        // ARRANGE
+        TransactionSynchronizationManager.initSynchronization();
+        validation.record(12345, 400);
+        validation.record(12345, 400);
+
+        // ACT
+        var duringTransaction = validation.check(12345, 300); // Conta os débitos ainda não confirmados
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(synchronization -> synchronization
+                .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // ASSERT
+        Assertions.assertTrue(duringTransaction.isPresent());
+        Assertions.assertTrue(validation.check(12345, 500).isEmpty());
+    }
+}
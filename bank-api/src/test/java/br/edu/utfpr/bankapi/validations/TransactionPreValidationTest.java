@@ -0,0 +1,97 @@
+package br.edu.utfpr.bankapi.validations;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionPreValidationTest {
+    @Spy
+    SameAccountValidation sameAccountValidation;
+
+    @Spy
+    SpendingLimitValidation spendingLimitValidation;
+
+    @InjectMocks
+    TransactionPreValidation preValidation;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(spendingLimitValidation, "perTransaction", 5000L);
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    void deveriaRecusarTransferenciaParaAPropriaConta() {
+        // ACT
+        var rejection = preValidation.transfer(new TransferDTO(12345, 12345, 1000));
+
+        // ASSERT
+        Assertions.assertEquals(RejectionReason.SAME_ACCOUNT, rejection.get().reason());
+    }
+
+    @Test
+    void deveriaRecusarSaqueAcimaDoLimitePorTransacao() {
+        // ACT
+        var rejection = preValidation.withdraw(new WithdrawDTO(12345, 6000));
+
+        // ASSERT
+        Assertions.assertEquals(RejectionReason.SPENDING_LIMIT, rejection.get().reason());
+    }
+
+    @Test
+    void deveriaContarARecusaApenasNaEtapaPrevia() {
+        // ACT
+        preValidation.transfer(new TransferDTO(12345, 12345, 1000));
+
+        // ASSERT
+        Assertions.assertEquals(1, meterRegistry.find(RejectionReason.COUNTER)
+                .tags("validation", "same-account", "stage", "pre").counter().count());
+        Assertions.assertEquals(0, meterRegistry.find(RejectionReason.COUNTER)
+                .tags("validation", "same-account", "stage", "final").counter().count());
+    }
+
+    @Test
+    void deveriaDeixarParaACadeiaTransferenciaParaContaDesconhecida() {
+        // ACT + ASSERT
+        Assertions.assertTrue(preValidation.transfer(new TransferDTO(12345, 99999, 1000)).isEmpty());
+    }
+
+    @Test
+    void deveriaDeixarParaACadeiaDepositoAcimaDoLimitePorTransacao() {
+        // ACT + ASSERT
+        Assertions.assertTrue(preValidation.deposit(new DepositDTO(12345, 6000)).isEmpty());
+    }
+
+    @Test
+    void deveriaCriarExcecoesSemStackTrace() {
+        // ACT
+        var notFound = NotFoundException.account(12345);
+
+        // ASSERT
+        Assertions.assertEquals(0, notFound.getStackTrace().length);
+        Assertions.assertEquals(0, WithoutBalanceException.INSTANCE.getStackTrace().length);
+        Assertions.assertEquals("Conta 12345 inexistente", notFound.getMessage());
+    }
+}
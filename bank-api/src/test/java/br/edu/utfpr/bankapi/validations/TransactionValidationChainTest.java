@@ -0,0 +1,100 @@
+package br.edu.utfpr.bankapi.validations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.exception.InvalidTransactionException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionValidationChainTest {
+    @Mock
+    AccountRepository accountRepository;
+
+    @Spy
+    AvailableBalanceValidation availableBalanceValidation;
+
+    @InjectMocks
+    TransactionValidationChain validationChain;
+
+    @Captor
+    ArgumentCaptor<Collection<Long>> numbersCaptor;
+
+    Account john;
+    Account jane;
+
+    @BeforeEach
+    void setUp() {
+        // Mesma ordem definida pelas anotações @Order
+        ReflectionTestUtils.setField(validationChain, "validators", List.of(new SameAccountValidation(),
+                new AvailableAccountValidation(), new BlockedAccountValidation(), availableBalanceValidation));
+
+        john = new Account("John Smith", 12345, 1000, 0);
+        jane = new Account("Jane Doe", 67890, 1000, 0);
+    }
+
+    @Test
+    void deveriaBloquearContasEmOrdemCrescenteDeNumeroEmUmaConsulta() {
+        // ARRANGE: transferência no sentido B→A
+        BDDMockito.given(accountRepository.lockAllByNumberIn(BDDMockito.any())).willReturn(List.of(john, jane));
+
+        // ACT
+        var accounts = validationChain.lockAccounts(67890, 12345);
+
+        // ASSERT: a conta de menor número é sempre bloqueada primeiro
+        BDDMockito.then(accountRepository).should().lockAllByNumberIn(numbersCaptor.capture());
+        Assertions.assertEquals(List.of(12345L, 67890L), new ArrayList<>(numbersCaptor.getValue()));
+        Assertions.assertEquals(Map.of(12345L, john, 67890L, jane), accounts);
+    }
+
+    @Test
+    void deveriaAceitarTransferenciaValida() {
+        // ARRANGE
+        var context = ValidationContext.of(new TransferDTO(12345, 67890, 500), Map.of(12345L, john, 67890L, jane));
+
+        // ACT + ASSERT
+        Assertions.assertTrue(validationChain.validate(context).isEmpty());
+    }
+
+    @Test
+    void deveriaInterromperCadeiaNaPrimeiraRejeicao() {
+        // ARRANGE
+        var context = ValidationContext.of(new TransferDTO(12345, 12345, 5000), Map.of(12345L, john));
+
+        // ACT
+        var rejection = validationChain.validate(context);
+
+        // ASSERT: a regra de mesma conta vem antes e o saldo nem é verificado
+        Assertions.assertEquals(RejectionReason.SAME_ACCOUNT, rejection.get().reason());
+        BDDMockito.then(availableBalanceValidation).should(BDDMockito.never()).validate(context);
+    }
+
+    @Test
+    void deveriaLancarInvalidTransactionExceptionParaContaBloqueada() {
+        // ARRANGE
+        jane.setBlocked(true);
+        var context = ValidationContext.of(new TransferDTO(12345, 67890, 500), Map.of(12345L, john, 67890L, jane));
+
+        // ACT + ASSERT
+        var exception = Assertions.assertThrows(InvalidTransactionException.class,
+                () -> validationChain.check(context));
+        Assertions.assertEquals("Conta 67890 bloqueada", exception.getMessage());
+    }
+}